@@ -0,0 +1,54 @@
+package com.app.homecash.benchmark;
+
+import com.app.homecash.HomeCashApplication;
+import com.app.homecash.config.JwtUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds application components for benchmarks, standalone or inside a Spring context.
+ */
+final class BenchmarkSupport {
+
+    static final String SECRET = "homecash-secret-key-for-development-change-in-production-to-a-strong-random-secret";
+    static final long EXPIRATION_MILLIS = 86_400_000L;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Create a JwtUtil configured like application.yml, with its parser and cache initialized.
+     */
+    static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION_MILLIS);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", 10_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    /**
+     * Start the application without a web server, with SQL logging off and the given extra properties.
+     * Properties are passed as command-line arguments so they override application.yml.
+     */
+    static ConfigurableApplicationContext startApplication(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--house.invite-code.secret=benchmark-invite-code-secret"
+        ));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(HomeCashApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,103 @@
+package com.app.homecash.benchmark;
+
+import com.app.homecash.domain.ExpenseType;
+import com.app.homecash.domain.PaymentMethod;
+import com.app.homecash.domain.User;
+import com.app.homecash.dto.request.CreateExpenseRequest;
+import com.app.homecash.dto.request.CreateHouseRequest;
+import com.app.homecash.repository.ExpenseRepository;
+import com.app.homecash.repository.UserRepository;
+import com.app.homecash.service.ExpenseService;
+import com.app.homecash.service.HouseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting 10k expenses into the in-memory database: one bulk request (batched inserts)
+ * against 10k single-expense requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExpenseBulkInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private ExpenseRepository expenseRepository;
+    private List<CreateExpenseRequest> requests;
+    private Long houseId;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkSupport.startApplication("expense.bulk.max-size=" + ROWS);
+        expenseService = context.getBean(ExpenseService.class);
+        expenseRepository = context.getBean(ExpenseRepository.class);
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+            .name("Benchmark")
+            .email("benchmark@homecash.app")
+            .cpf("52998224725")
+            .password("unused")
+            .build());
+        userId = user.getId();
+        houseId = context.getBean(HouseService.class)
+            .create(CreateHouseRequest.builder().name("Benchmark").build(), userId)
+            .getId();
+
+        requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(CreateExpenseRequest.builder()
+                .title("Expense " + i)
+                .category("bills")
+                .amountCents(1_000L + i)
+                .type(ExpenseType.FIXED)
+                .paymentMethod(PaymentMethod.PIX)
+                .build());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteExpenses() {
+        expenseRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object bulkCreate() {
+        return expenseService.bulkCreate(houseId, requests, userId);
+    }
+
+    @Benchmark
+    public Object createOneByOne() {
+        Object last = null;
+        for (CreateExpenseRequest request : requests) {
+            last = expenseService.create(houseId, request, userId);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,138 @@
+package com.app.homecash.benchmark;
+
+import com.app.homecash.domain.CreditCard;
+import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.domain.ExpenseType;
+import com.app.homecash.domain.Invoice;
+import com.app.homecash.domain.InvoiceExpense;
+import com.app.homecash.domain.InvoiceStatus;
+import com.app.homecash.domain.PaymentMethod;
+import com.app.homecash.domain.User;
+import com.app.homecash.dto.request.CreateExpenseRequest;
+import com.app.homecash.dto.request.CreateHouseRequest;
+import com.app.homecash.dto.response.BulkExpenseResult;
+import com.app.homecash.repository.CreditCardRepository;
+import com.app.homecash.repository.ExpenseRepository;
+import com.app.homecash.repository.InvoiceExpenseRepository;
+import com.app.homecash.repository.InvoiceRepository;
+import com.app.homecash.repository.UserRepository;
+import com.app.homecash.service.ExpenseService;
+import com.app.homecash.service.HouseService;
+import com.app.homecash.service.InvoiceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paying an invoice that links 1,000 credit expenses.
+ * The invoice and its expenses are reopened before every iteration, bypassing the rollups,
+ * so rollup counts drift across iterations; only the timing is meaningful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 100)
+@Measurement(iterations = 50)
+@Fork(1)
+public class InvoicePaymentBenchmark {
+
+    private static final int EXPENSES = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private InvoiceService invoiceService;
+    private ExpenseRepository expenseRepository;
+    private InvoiceRepository invoiceRepository;
+    private List<Long> expenseIds;
+    private Long invoiceId;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkSupport.startApplication("expense.bulk.max-size=" + EXPENSES);
+        invoiceService = context.getBean(InvoiceService.class);
+        expenseRepository = context.getBean(ExpenseRepository.class);
+        invoiceRepository = context.getBean(InvoiceRepository.class);
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+            .name("Benchmark")
+            .email("benchmark@homecash.app")
+            .cpf("52998224725")
+            .password("unused")
+            .build());
+        userId = user.getId();
+        Long houseId = context.getBean(HouseService.class)
+            .create(CreateHouseRequest.builder().name("Benchmark").build(), userId)
+            .getId();
+        Long cardId = context.getBean(CreditCardRepository.class).save(CreditCard.builder()
+            .userId(userId)
+            .name("Benchmark")
+            .brand("VISA")
+            .lastDigits("0000")
+            .limitCents(100_000_000L)
+            .closingDay(5)
+            .dueDay(15)
+            .build()).getId();
+
+        List<CreateExpenseRequest> requests = new ArrayList<>(EXPENSES);
+        for (int i = 0; i < EXPENSES; i++) {
+            requests.add(CreateExpenseRequest.builder()
+                .title("Expense " + i)
+                .category(i % 2 == 0 ? "groceries" : "fuel")
+                .amountCents(1_000L + i)
+                .type(ExpenseType.ONE_TIME)
+                .paymentMethod(PaymentMethod.CREDIT)
+                .creditCardId(cardId)
+                .build());
+        }
+        expenseIds = context.getBean(ExpenseService.class).bulkCreate(houseId, requests, userId).getResults().stream()
+            .map(BulkExpenseResult::getId)
+            .toList();
+
+        invoiceId = invoiceRepository.save(Invoice.builder()
+            .creditCardId(cardId)
+            .month(10)
+            .year(2026)
+            .totalCents(1L)
+            .build()).getId();
+        List<InvoiceExpense> links = new ArrayList<>(EXPENSES);
+        for (Long expenseId : expenseIds) {
+            links.add(InvoiceExpense.builder().invoiceId(invoiceId).expenseId(expenseId).build());
+        }
+        context.getBean(InvoiceExpenseRepository.class).saveAll(links);
+    }
+
+    @Setup(Level.Iteration)
+    public void reopen() {
+        List<Expense> expenses = expenseRepository.findAllById(expenseIds);
+        expenses.forEach(expense -> expense.setStatus(ExpenseStatus.OPEN));
+        expenseRepository.saveAll(expenses);
+        Invoice invoice = invoiceRepository.findById(invoiceId).orElseThrow();
+        invoice.setStatus(InvoiceStatus.OPEN);
+        invoiceRepository.save(invoice);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object markAsPaid() {
+        return invoiceService.markAsPaid(invoiceId, userId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.app.homecash.benchmark;
+
+import com.app.homecash.config.JwtAuthenticationFilter;
+import com.app.homecash.config.JwtUtil;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full JwtAuthenticationFilter pass for a valid, an invalid and a missing bearer token.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String validHeader;
+    private String invalidHeader;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = BenchmarkSupport.newJwtUtil();
+        filter = new JwtAuthenticationFilter(jwtUtil);
+        String token = jwtUtil.generateToken("42", "user@homecash.app");
+        validHeader = "Bearer " + token;
+        invalidHeader = "Bearer " + token.substring(0, token.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validToken() throws ServletException, IOException {
+        return doFilter(validHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse invalidToken() throws ServletException, IOException {
+        return doFilter(invalidHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse missingToken() throws ServletException, IOException {
+        return doFilter(null);
+    }
+
+    private MockHttpServletResponse doFilter(String authorization) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/houses");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
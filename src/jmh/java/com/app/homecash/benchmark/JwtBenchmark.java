@@ -0,0 +1,81 @@
+package com.app.homecash.benchmark;
+
+import com.app.homecash.config.JwtUtil;
+import com.app.homecash.config.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation, verification and claim extraction in JwtUtil.
+ * {@code legacyTripleParse} reproduces the per-request work of the previous filter
+ * (validate, then read user id, then read email, each with a fresh key and parser).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = BenchmarkSupport.newJwtUtil();
+        token = jwtUtil.generateToken("42", "user@homecash.app");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("42", "user@homecash.app");
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyTokenCached() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public void extractClaims(Blackhole blackhole) {
+        VerifiedToken verified = jwtUtil.parseToken(token).orElseThrow();
+        blackhole.consume(verified.getUserId());
+        blackhole.consume(verified.getEmail());
+    }
+
+    @Benchmark
+    public void legacyTripleParse(Blackhole blackhole) {
+        Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token);
+        Claims forUserId = Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload();
+        blackhole.consume(forUserId.getSubject());
+        Claims forEmail = Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload();
+        blackhole.consume(forEmail.get("email", String.class));
+    }
+
+    private static SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(BenchmarkSupport.SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package com.app.homecash.benchmark;
+
+import com.app.homecash.domain.ExpenseRecurrence;
+import com.app.homecash.domain.PaymentMethod;
+import com.app.homecash.repository.ExpenseRecurrenceRepository;
+import com.app.homecash.repository.ExpenseRepository;
+import com.app.homecash.repository.ExpenseRollupRepository;
+import com.app.homecash.service.impl.RecurrenceMaterializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One materializer run over houses that each have one recurrence due today,
+ * so every run generates one occurrence per house.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class RecurrenceMaterializerBenchmark {
+
+    @Param({"10000", "100000"})
+    private int houses;
+
+    private ConfigurableApplicationContext context;
+    private RecurrenceMaterializer materializer;
+    private ExpenseRecurrenceRepository expenseRecurrenceRepository;
+    private ExpenseRepository expenseRepository;
+    private ExpenseRollupRepository expenseRollupRepository;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // The overdue job would otherwise start moving today's occurrences to OVERDUE during long trials
+        context = BenchmarkSupport.startApplication(
+            "expense.recurrence.cron=-",
+            "expense.overdue.interval-ms=86400000");
+        materializer = context.getBean(RecurrenceMaterializer.class);
+        expenseRecurrenceRepository = context.getBean(ExpenseRecurrenceRepository.class);
+        expenseRepository = context.getBean(ExpenseRepository.class);
+        expenseRollupRepository = context.getBean(ExpenseRollupRepository.class);
+        today = LocalDate.now();
+
+        List<ExpenseRecurrence> recurrences = new ArrayList<>(houses);
+        for (long houseId = 1; houseId <= houses; houseId++) {
+            recurrences.add(ExpenseRecurrence.builder()
+                .houseId(houseId)
+                .title("Rent")
+                .category("rent")
+                .amountCents(150_000L)
+                .paymentMethod(PaymentMethod.PIX)
+                .createdBy(1L)
+                .dayOfMonth(today.getDayOfMonth())
+                .nextOccurrence(today)
+                .build());
+        }
+        expenseRecurrenceRepository.saveAll(recurrences);
+    }
+
+    @Setup(Level.Iteration)
+    public void rewind() {
+        expenseRepository.deleteAllInBatch();
+        expenseRollupRepository.deleteAllInBatch();
+        List<ExpenseRecurrence> recurrences = expenseRecurrenceRepository.findAll();
+        recurrences.forEach(recurrence -> recurrence.setNextOccurrence(today));
+        expenseRecurrenceRepository.saveAll(recurrences);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long materialize() {
+        return materializer.materializeUntil(today);
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.homecash.benchmark;
+
+import com.app.homecash.domain.SettlementPlanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settlement planning for large houses with random debts.
+ * Balances come from {@code debtsPerMember} random debts per member of up to 1000.00,
+ * so they always sum to zero like the ones derived from OWES participants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SettlementPlannerBenchmark {
+
+    private static final long MAX_DEBT_CENTS = 100_000L;
+
+    @Param({"1000", "5000", "20000"})
+    private int members;
+
+    @Param({"10"})
+    private int debtsPerMember;
+
+    private long[] userIds;
+    private long[] balancesCents;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        userIds = new long[members];
+        balancesCents = new long[members];
+        for (int i = 0; i < members; i++) {
+            userIds[i] = i + 1;
+        }
+        for (long d = 0; d < (long) members * debtsPerMember; d++) {
+            int debtor = random.nextInt(members);
+            int creditor = random.nextInt(members);
+            long amount = 1 + random.nextLong(MAX_DEBT_CENTS);
+            balancesCents[debtor] -= amount;
+            balancesCents[creditor] += amount;
+        }
+    }
+
+    @Benchmark
+    public SettlementPlanner.Plan plan() {
+        return SettlementPlanner.plan(userIds, balancesCents);
+    }
+}
@@ -0,0 +1,203 @@
+package com.app.homecash.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiting for POST /auth/login and /auth/register.
+ * Every attempt takes a token from the client IP bucket and from the normalized email bucket,
+ * so credential stuffing is rejected with 429 before any BCrypt work or database lookup.
+ * A successful login gives its email token back, so legitimate users are not penalized.
+ * Bodies larger than {@value #MAX_BODY_BYTES} bytes are rejected with 413, since auth requests are never that large.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/auth/login";
+    private static final String REGISTER_PATH = "/auth/register";
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter accountLimiter;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final ObjectMapper objectMapper;
+    private final Counter accountLimitedCounter;
+    private final Counter ipLimitedCounter;
+
+    public AuthRateLimitFilter(
+            @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+            @Value("${auth.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${auth.rate-limit.account.burst:5}") int accountBurst,
+            @Value("${auth.rate-limit.account.refill-per-minute:5}") int accountRefillPerMinute,
+            @Value("${auth.rate-limit.ip.burst:20}") int ipBurst,
+            @Value("${auth.rate-limit.ip.refill-per-minute:60}") int ipRefillPerMinute,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.accountLimiter = new TokenBucketRateLimiter(accountBurst, accountRefillPerMinute, maxKeys);
+        this.ipLimiter = new TokenBucketRateLimiter(ipBurst, ipRefillPerMinute, maxKeys);
+        this.objectMapper = objectMapper;
+        this.accountLimitedCounter = Counter.builder("homecash.auth.rate_limited")
+            .description("Auth requests rejected by the rate limiter")
+            .tag("key", "account")
+            .register(meterRegistry);
+        this.ipLimitedCounter = Counter.builder("homecash.auth.rate_limited")
+            .description("Auth requests rejected by the rate limiter")
+            .tag("key", "ip")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !LOGIN_PATH.equals(path) && !REGISTER_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long ipWait = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (ipWait > 0) {
+            ipLimitedCounter.increment();
+            reject(response, ipWait);
+            return;
+        }
+
+        byte[] body = request.getContentLengthLong() > MAX_BODY_BYTES
+            ? null
+            : request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body == null || body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body is too large");
+            return;
+        }
+        String accountKey = extractAccountKey(body);
+
+        if (accountKey != null) {
+            long accountWait = accountLimiter.tryAcquire(accountKey);
+            if (accountWait > 0) {
+                accountLimitedCounter.increment();
+                reject(response, accountWait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+
+        if (accountKey != null
+                && LOGIN_PATH.equals(request.getServletPath())
+                && response.getStatus() < 300) {
+            accountLimiter.refund(accountKey);
+        }
+    }
+
+    /**
+     * Read the normalized email from the JSON body, or null if there is none.
+     */
+    private String extractAccountKey(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many authentication attempts");
+    }
+
+    /**
+     * Replays a body that was already read from the original request.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Async reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
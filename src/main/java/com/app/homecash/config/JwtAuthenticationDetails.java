@@ -0,0 +1,41 @@
+package com.app.homecash.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.Optional;
+
+/**
+ * Authentication details that keep the verified token of the current request,
+ * so its claims can be read later without parsing the token again.
+ */
+public class JwtAuthenticationDetails extends WebAuthenticationDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient VerifiedToken token;
+
+    public JwtAuthenticationDetails(HttpServletRequest request, VerifiedToken token) {
+        super(request);
+        this.token = token;
+    }
+
+    public VerifiedToken getToken() {
+        return token;
+    }
+
+    /**
+     * Get the verified token of the current request, if it was authenticated with a JWT.
+     *
+     * @return verified token, or empty if the request is not JWT-authenticated
+     */
+    public static Optional<VerifiedToken> currentToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof JwtAuthenticationDetails details) {
+            return Optional.ofNullable(details.getToken());
+        }
+        return Optional.empty();
+    }
+}
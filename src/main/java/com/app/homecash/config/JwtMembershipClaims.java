@@ -0,0 +1,22 @@
+package com.app.homecash.config;
+
+import com.app.homecash.service.MembershipClaims;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Reads claimed memberships from the verified JWT of the current request.
+ * Tokens only carry them when issued with {@code jwt.embed-memberships}.
+ */
+@Component
+public class JwtMembershipClaims implements MembershipClaims {
+
+    @Override
+    public Optional<ClaimedMemberships> forUser(Long userId) {
+        return JwtAuthenticationDetails.currentToken()
+            .filter(VerifiedToken::hasMemberships)
+            .filter(token -> userId.toString().equals(token.getUserId()))
+            .map(token -> new ClaimedMemberships(token.getHouseRoles(), token.getMembershipVersion()));
+    }
+}
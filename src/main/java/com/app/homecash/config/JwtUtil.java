@@ -1,14 +1,31 @@
 package com.app.homecash.config;
 
+import com.app.homecash.domain.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
@@ -19,54 +36,202 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.cache.max-entries:10000}")
+    private long cacheMaxEntries;
+
+    @Value("${jwt.embed-memberships:false}")
+    private boolean embedMemberships;
+
+    private static final String EMAIL_CLAIM = "email";
+    private static final String HOUSE_ROLES_CLAIM = "hm";
+    private static final String MEMBERSHIP_VERSION_CLAIM = "mv";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Build the signing key, parser and verified-token cache once.
+     * All of them are thread-safe and reused by every request.
+     */
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+            .verifyWith(signingKey)
+            .build();
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(cacheMaxEntries)
+            .expireAfter(new TokenExpiry())
+            .build();
     }
 
     public String generateToken(String userId, String email) {
+        return buildToken(userId, email).compact();
+    }
+
+    /**
+     * Generate a token that also carries the user's house roles and membership version
+     * when {@code jwt.embed-memberships} is enabled; otherwise behaves like
+     * {@link #generateToken(String, String)}.
+     *
+     * @param userId user id (subject)
+     * @param email user email
+     * @param houseRoles role of the user in each house, keyed by house id
+     * @param membershipVersion current membership version of the user
+     * @return compact JWT
+     */
+    public String generateToken(String userId, String email, Map<Long, Role> houseRoles, long membershipVersion) {
+        JwtBuilder builder = buildToken(userId, email);
+        if (embedMemberships) {
+            builder.claim(HOUSE_ROLES_CLAIM, encodeHouseRoles(houseRoles))
+                .claim(MEMBERSHIP_VERSION_CLAIM, membershipVersion);
+        }
+        return builder.compact();
+    }
+
+    public boolean isEmbedMemberships() {
+        return embedMemberships;
+    }
+
+    private JwtBuilder buildToken(String userId, String email) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
             .subject(userId)
-            .claim("email", email)
+            .claim(EMAIL_CLAIM, email)
             .issuedAt(now)
             .expiration(expiryDate)
-            .signWith(getSigningKey())
-            .compact();
+            .signWith(signingKey);
     }
 
-    public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    /**
+     * Verify a token and return its claims, reusing a previous verification when possible.
+     * Cached entries are keyed by the SHA-256 digest of the token and are evicted when the token expires.
+     *
+     * @param token compact JWT
+     * @return verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
 
-        return claims.getSubject();
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(cached);
+        }
+
+        Optional<VerifiedToken> verified = parseToken(token);
+        verified.ifPresent(claims -> verifiedTokens.put(key, claims));
+        return verified;
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    /**
+     * Parse and verify a token with a single signature check, bypassing the cache.
+     *
+     * @param token compact JWT
+     * @return verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> parseToken(String token) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            Date expiresAt = claims.getExpiration();
+            String houseRoles = claims.get(HOUSE_ROLES_CLAIM, String.class);
+            Number membershipVersion = claims.get(MEMBERSHIP_VERSION_CLAIM, Number.class);
+            return Optional.of(new VerifiedToken(
+                claims.getSubject(),
+                claims.get(EMAIL_CLAIM, String.class),
+                expiresAt != null ? expiresAt.toInstant() : null,
+                houseRoles != null ? decodeHouseRoles(houseRoles) : null,
+                membershipVersion != null ? membershipVersion.longValue() : null
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
-        return claims.get("email", String.class);
+    public String getUserIdFromToken(String token) {
+        return verifyToken(token)
+            .map(VerifiedToken::getUserId)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid token"));
+    }
+
+    public String getEmailFromToken(String token) {
+        return verifyToken(token)
+            .map(VerifiedToken::getEmail)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid token"));
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+        return verifyToken(token).isPresent();
+    }
+
+    /**
+     * Encode house roles as "houseId:ROLE" pairs separated by commas, e.g. "12:OWNER,15:MEMBER".
+     */
+    private static String encodeHouseRoles(Map<Long, Role> houseRoles) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<Long, Role> entry : houseRoles.entrySet()) {
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(entry.getKey()).append(':').append(entry.getValue().name());
         }
+        return encoded.toString();
     }
-}
 
+    private static Map<Long, Role> decodeHouseRoles(String encoded) {
+        if (encoded.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Role> houseRoles = new HashMap<>();
+        for (String pair : encoded.split(",")) {
+            int separator = pair.indexOf(':');
+            houseRoles.put(Long.parseLong(pair.substring(0, separator)), Role.valueOf(pair.substring(separator + 1)));
+        }
+        return Collections.unmodifiableMap(houseRoles);
+    }
+
+    private static String digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        sha256.reset();
+        byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    /**
+     * Expires each cache entry at the token's own expiration time.
+     */
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return Long.MAX_VALUE;
+            }
+            long remaining = Duration.between(Instant.now(), value.getExpiresAt()).toNanos();
+            return Math.max(remaining, 0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.app.homecash.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors and scheduling for background work that must not run on request threads.
+ */
+@Configuration
+@EnableScheduling
+public class TaskConfig {
+
+    /**
+     * Single worker that purges the data of deleted houses one chunk at a time,
+     * so at most one purge transaction is holding locks at any moment.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor housePurgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("house-purge-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Bounded pool that materializes recurring expenses, one group of houses per task.
+     * The queue is short and a full pool runs the task on the submitting thread,
+     * so a large run cannot queue more work than the workers can take.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor recurrenceExecutor(@Value("${expense.recurrence.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("recurrence-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Bounded pool that closes due invoices, one group of cards per task, sized and queued like the recurrence pool.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor invoiceCloseExecutor(@Value("${invoice.close.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("invoice-close-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,138 @@
+package com.app.homecash.config;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free in-memory token bucket limiter keyed by string.
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (GCRA),
+ * updated with CAS, so a bucket refills continuously at {@code refillPerMinute} up to {@code burst}.
+ * Buckets are spread over independent stripes, each bounded to {@code maxKeys / STRIPES} entries.
+ * A bucket whose arrival time is in the past is full, which is exactly the state of a new bucket,
+ * so such idle buckets are evicted when a stripe runs out of room without losing any state.
+ * Eviction scans the whole stripe, so a full stripe is scanned once per batch of new keys
+ * rather than for each, keeping the scan cost per new key at {@code SCAN_ENTRIES_PER_MISS} buckets.
+ * A new key that finds its stripe full of active buckets is not tracked: refusing it would let anyone
+ * cycling through keys lock every other new key out, so callers must pair this limiter with one on a key
+ * the client cannot choose freely, such as its IP address.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 16;
+    private static final int SCAN_ENTRIES_PER_MISS = 16;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeysPerStripe;
+    private final int evictionBatch;
+    private final List<Map<String, AtomicLong>> stripes;
+    private final AtomicIntegerArray fullStripeMisses = new AtomicIntegerArray(STRIPES);
+
+    public TokenBucketRateLimiter(int burst, int refillPerMinute, int maxKeys) {
+        if (burst <= 0 || refillPerMinute <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Burst, refill and max keys must be greater than 0");
+        }
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.evictionBatch = Math.max(1, maxKeysPerStripe / SCAN_ENTRIES_PER_MISS);
+        List<Map<String, AtomicLong>> stripes = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        this.stripes = List.copyOf(stripes);
+    }
+
+    /**
+     * Try to take one token for the key.
+     *
+     * @param key bucket key
+     * @return 0 if a token was taken, otherwise nanoseconds until the next token is available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = bucketFor(key, now);
+        if (bucket == null) {
+            return 0;
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            long newArrival = Math.max(arrival, now) + emissionIntervalNanos;
+            long excess = newArrival - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(arrival, newArrival)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back one token previously taken for the key.
+     *
+     * @param key bucket key
+     */
+    public void refund(String key) {
+        AtomicLong bucket = stripes.get(stripeIndex(key)).get(key);
+        if (bucket == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = bucket.get();
+            if (arrival - now <= 0) {
+                return;
+            }
+            long refunded = Math.max(arrival - emissionIntervalNanos, now);
+            if (bucket.compareAndSet(arrival, refunded)) {
+                return;
+            }
+        }
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        int index = stripeIndex(key);
+        Map<String, AtomicLong> stripe = stripes.get(index);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (stripe.size() >= maxKeysPerStripe) {
+            // Only one in evictionBatch new keys finding the stripe full pays for a scan
+            int misses = fullStripeMisses.getAndUpdate(index, m -> m + 1 == evictionBatch ? 0 : m + 1);
+            if (misses == 0) {
+                evictIdle(stripe, now);
+            }
+            if (stripe.size() >= maxKeysPerStripe) {
+                // Still full of active buckets: let the key through untracked rather than grow without bound
+                return null;
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private static void evictIdle(Map<String, AtomicLong> stripe, long now) {
+        Iterator<AtomicLong> buckets = stripe.values().iterator();
+        while (buckets.hasNext()) {
+            if (buckets.next().get() - now <= 0) {
+                buckets.remove();
+            }
+        }
+    }
+
+    private static int stripeIndex(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return hash & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,32 @@
+package com.app.homecash.config;
+
+import com.app.homecash.domain.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Immutable view of a JWT whose signature and expiration have already been verified.
+ * {@code houseRoles} and {@code membershipVersion} are only present when the token
+ * was issued with embedded memberships.
+ */
+@Getter
+@AllArgsConstructor
+public final class VerifiedToken {
+
+    private final String userId;
+    private final String email;
+    private final Instant expiresAt;
+    private final Map<Long, Role> houseRoles;
+    private final Long membershipVersion;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    public boolean hasMemberships() {
+        return houseRoles != null && membershipVersion != null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.app.homecash.controller;
+
+import com.app.homecash.dto.response.HouseBalanceResponse;
+import com.app.homecash.dto.response.SettlementTransferResponse;
+import com.app.homecash.service.BalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/houses/{houseId}")
+@RequiredArgsConstructor
+public class BalanceController {
+
+    private final BalanceService balanceService;
+
+    @GetMapping("/balances")
+    public ResponseEntity<List<HouseBalanceResponse>> getBalances(
+            @PathVariable("houseId") Long houseId,
+            @RequestHeader("X-User-Id") Long userId) {
+        List<HouseBalanceResponse> response = balanceService.getBalances(houseId, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/balances/rebuild")
+    public ResponseEntity<List<HouseBalanceResponse>> rebuild(
+            @PathVariable("houseId") Long houseId,
+            @RequestHeader("X-User-Id") Long userId) {
+        List<HouseBalanceResponse> response = balanceService.rebuild(houseId, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/settlement")
+    public ResponseEntity<List<SettlementTransferResponse>> getSettlement(
+            @PathVariable("houseId") Long houseId,
+            @RequestHeader("X-User-Id") Long userId) {
+        List<SettlementTransferResponse> response = balanceService.getSettlement(houseId, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/settlement/apply")
+    public ResponseEntity<List<SettlementTransferResponse>> applySettlement(
+            @PathVariable("houseId") Long houseId,
+            @RequestHeader("X-User-Id") Long userId) {
+        List<SettlementTransferResponse> response = balanceService.applySettlement(houseId, userId);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,15 +1,32 @@
 package com.app.homecash.controller;
 
+import com.app.homecash.dto.request.BulkCreateExpenseRequest;
+import com.app.homecash.dto.request.BulkDeleteExpenseRequest;
 import com.app.homecash.dto.request.CreateExpenseRequest;
+import com.app.homecash.dto.request.CreateRecurrenceRequest;
+import com.app.homecash.dto.request.ExpenseFilter;
+import com.app.homecash.dto.request.ExportFormat;
+import com.app.homecash.dto.request.SplitExpenseRequest;
 import com.app.homecash.dto.request.UpdateExpenseRequest;
+import com.app.homecash.dto.response.BulkCreateExpenseResponse;
+import com.app.homecash.dto.response.BulkDeleteExpenseResponse;
+import com.app.homecash.dto.response.ExpenseParticipantResponse;
+import com.app.homecash.dto.response.ExpenseRecurrenceResponse;
+import com.app.homecash.dto.response.ExpensePageResponse;
 import com.app.homecash.dto.response.ExpenseResponse;
+import com.app.homecash.dto.response.ExpenseSummaryResponse;
 import com.app.homecash.service.ExpenseService;
+import com.app.homecash.service.HouseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -17,6 +34,7 @@ import java.util.List;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final HouseService houseService;
 
     @PostMapping("/houses/{houseId}/expenses")
     public ResponseEntity<ExpenseResponse> create(
@@ -27,12 +45,68 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/houses/{houseId}/expenses/bulk")
+    public ResponseEntity<BulkCreateExpenseResponse> bulkCreate(
+            @PathVariable("houseId") Long houseId,
+            @Valid @RequestBody BulkCreateExpenseRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+        BulkCreateExpenseResponse response = expenseService.bulkCreate(houseId, request.getExpenses(), userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/houses/{houseId}/expenses/bulk-delete")
+    public ResponseEntity<BulkDeleteExpenseResponse> bulkDelete(
+            @PathVariable("houseId") Long houseId,
+            @Valid @RequestBody BulkDeleteExpenseRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+        BulkDeleteExpenseResponse response = expenseService.bulkDelete(houseId, request.getExpenseIds(), userId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/houses/{houseId}/expenses")
-    public ResponseEntity<List<ExpenseResponse>> getByHouse(
+    public ResponseEntity<ExpensePageResponse> getByHouse(
             @PathVariable("houseId") Long houseId,
+            ExpenseFilter filter,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
             @RequestHeader("X-User-Id") Long userId) {
-        List<ExpenseResponse> responses = expenseService.getByHouse(houseId, userId);
-        return ResponseEntity.ok(responses);
+        ExpensePageResponse response = expenseService.getByHouse(houseId, filter, cursor, size, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/houses/{houseId}/expenses/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable("houseId") Long houseId,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestHeader("X-User-Id") Long userId) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+
+        // Check access before the response is committed; rows are written after this method returns
+        houseService.validateUserPermission(userId, houseId, false);
+
+        StreamingResponseBody body = out -> expenseService.exportByHouse(houseId, exportFormat, userId, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"house-" + houseId + "-expenses." + exportFormat.getFileExtension() + "\"")
+            .body(body);
+    }
+
+    @GetMapping("/houses/{houseId}/expenses/summary")
+    public ResponseEntity<ExpenseSummaryResponse> getMonthlySummary(
+            @PathVariable("houseId") Long houseId,
+            @RequestParam(value = "year", required = false) Integer year,
+            @RequestParam(value = "month", required = false) Integer month,
+            @RequestHeader("X-User-Id") Long userId) {
+        // Default to the current month
+        YearMonth current = YearMonth.now();
+        ExpenseSummaryResponse response = expenseService.getMonthlySummary(
+            houseId,
+            year != null ? year : current.getYear(),
+            month != null ? month : current.getMonthValue(),
+            userId
+        );
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/expenses/{id}")
@@ -60,6 +134,15 @@ public class ExpenseController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/expenses/{id}/split")
+    public ResponseEntity<List<ExpenseParticipantResponse>> split(
+            @PathVariable("id") Long id,
+            @Valid @RequestBody SplitExpenseRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+        List<ExpenseParticipantResponse> response = expenseService.split(id, request, userId);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/expenses/{id}/pay")
     public ResponseEntity<ExpenseResponse> markAsPaid(
             @PathVariable("id") Long id,
@@ -67,5 +150,22 @@ public class ExpenseController {
         ExpenseResponse response = expenseService.markAsPaid(id, userId);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/expenses/{id}/recurrence")
+    public ResponseEntity<ExpenseRecurrenceResponse> createRecurrence(
+            @PathVariable("id") Long id,
+            @Valid @RequestBody CreateRecurrenceRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+        ExpenseRecurrenceResponse response = expenseService.createRecurrence(id, request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/expenses/{id}/recurrence")
+    public ResponseEntity<Void> stopRecurrence(
+            @PathVariable("id") Long id,
+            @RequestHeader("X-User-Id") Long userId) {
+        expenseService.stopRecurrence(id, userId);
+        return ResponseEntity.noContent().build();
+    }
 }
 
@@ -3,6 +3,7 @@ package com.app.homecash.controller;
 import com.app.homecash.dto.request.CreateHouseRequest;
 import com.app.homecash.dto.request.InviteHouseRequest;
 import com.app.homecash.dto.response.CreateHouseResponse;
+import com.app.homecash.dto.response.HousePageResponse;
 import com.app.homecash.dto.response.HouseResponse;
 import com.app.homecash.dto.response.InviteUserResponse;
 import com.app.homecash.service.HouseService;
@@ -12,8 +13,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/houses")
 @RequiredArgsConstructor
@@ -30,9 +29,12 @@ public class HouseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<HouseResponse>> getHouses(@RequestHeader("X-User-Id") Long userId) {
-        List<HouseResponse> responses = houseService.getHousesByUser(userId);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<HousePageResponse> getHouses(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestHeader("X-User-Id") Long userId) {
+        HousePageResponse response = houseService.getHousesByUser(userId, page, size);
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}")
@@ -43,6 +45,14 @@ public class HouseController {
         return ResponseEntity.ok(response);
     }
 
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(
+            @PathVariable("id") Long id,
+            @RequestHeader("X-User-Id") Long userId) {
+        houseService.deleteHouse(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/{id}/invite")
     public ResponseEntity<InviteUserResponse> updateInviteCode(
             @PathVariable Long id,
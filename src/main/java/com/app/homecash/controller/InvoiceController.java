@@ -1,13 +1,12 @@
 package com.app.homecash.controller;
 
+import com.app.homecash.dto.response.InvoicePageResponse;
 import com.app.homecash.dto.response.InvoiceResponse;
 import com.app.homecash.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequiredArgsConstructor
 public class InvoiceController {
@@ -15,11 +14,13 @@ public class InvoiceController {
     private final InvoiceService invoiceService;
 
     @GetMapping("/cards/{id}/invoices")
-    public ResponseEntity<List<InvoiceResponse>> getByCreditCard(
+    public ResponseEntity<InvoicePageResponse> getByCreditCard(
             @PathVariable("id") Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "12") int size,
             @RequestHeader("X-User-Id") Long userId) {
-        List<InvoiceResponse> responses = invoiceService.getByCreditCard(id, userId);
-        return ResponseEntity.ok(responses);
+        InvoicePageResponse response = invoiceService.getByCreditCard(id, cursor, size, userId);
+        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/invoices/{id}/pay")
@@ -10,7 +10,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 
 @Entity
 @Table(name = "credit_cards", indexes = {
@@ -61,6 +63,16 @@ public class CreditCard {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Month of the invoice a purchase made on the given date belongs to: the purchase month up to its
+     * closing day (the last day of months shorter than the closing day), the following month after it.
+     */
+    public YearMonth invoiceMonthOf(LocalDate purchaseDate) {
+        YearMonth month = YearMonth.from(purchaseDate);
+        int closing = Math.min(closingDay, month.lengthOfMonth());
+        return purchaseDate.getDayOfMonth() <= closing ? month : month.plusMonths(1);
+    }
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
@@ -10,13 +10,22 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "expenses", indexes = {
-    @Index(name = "idx_expense_house", columnList = "houseId"),
+    @Index(name = "idx_expense_house_created", columnList = "houseId,createdAt,id"),
+    @Index(name = "idx_expense_house_status_due", columnList = "houseId,status,dueDate"),
+    @Index(name = "idx_expense_house_due", columnList = "houseId,dueDate"),
+    @Index(name = "idx_expense_house_category", columnList = "houseId,category"),
+    @Index(name = "idx_expense_house_payment_method", columnList = "houseId,paymentMethod"),
+    @Index(name = "idx_expense_house_credit_card", columnList = "houseId,creditCardId"),
     @Index(name = "idx_expense_created_by", columnList = "createdBy"),
-    @Index(name = "idx_expense_status", columnList = "status")
+    @Index(name = "idx_expense_status_due", columnList = "status,dueDate")
+}, uniqueConstraints = {
+    // Natural key of generated occurrences, so rerunning the materializer never duplicates them
+    @UniqueConstraint(name = "uk_expense_recurrence_occurrence", columnNames = {"recurrence_id", "occurrence_date"})
 })
 @Getter
 @Setter
@@ -25,8 +34,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Expense {
 
+    // Sequence ids (pooled, 50 per round trip) let Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expenses_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -74,6 +85,20 @@ public class Expense {
     @Column(name = "credit_card_id")
     private Long creditCardId;
 
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    /**
+     * Date the expense counts towards in monthly rollups and card invoices: the occurrence date of a generated
+     * occurrence, which is created ahead of time, otherwise the creation date.
+     */
+    public LocalDate periodDate() {
+        return occurrenceDate != null ? occurrenceDate : createdAt.toLocalDate();
+    }
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
@@ -22,8 +22,10 @@ import lombok.Setter;
 @AllArgsConstructor
 public class ExpenseParticipant {
 
+    // Sequence ids (pooled, 50 per round trip) let Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_participant_seq")
+    @SequenceGenerator(name = "expense_participant_seq", sequenceName = "expense_participants_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
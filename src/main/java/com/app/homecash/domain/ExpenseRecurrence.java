@@ -0,0 +1,106 @@
+package com.app.homecash.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Monthly schedule of a FIXED expense. Each occurrence is an expense copied from this definition,
+ * identified by (recurrenceId, occurrenceDate) so it is never generated twice.
+ * {@code nextOccurrence} is the first date that has not been generated yet.
+ */
+@Entity
+@Table(name = "expense_recurrences", indexes = {
+    @Index(name = "idx_expense_recurrence_house_next", columnList = "houseId,nextOccurrence")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRecurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "house_id", nullable = false)
+    private Long houseId;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String category;
+
+    @NotNull
+    @Positive
+    @Column(name = "amount_cents", nullable = false)
+    private Long amountCents;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false)
+    private PaymentMethod paymentMethod;
+
+    @Column(name = "credit_card_id")
+    private Long creditCardId;
+
+    @NotNull
+    @Column(name = "created_by", nullable = false)
+    private Long createdBy;
+
+    /**
+     * Day of the month each occurrence is due; months that are too short use their last day.
+     */
+    @NotNull
+    @Min(1)
+    @Max(31)
+    @Column(name = "day_of_month", nullable = false)
+    private Integer dayOfMonth;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Date of this recurrence in the given month.
+     */
+    public LocalDate occurrenceIn(YearMonth month) {
+        return month.atDay(Math.min(dayOfMonth, month.lengthOfMonth()));
+    }
+
+    /**
+     * Move {@code nextOccurrence} one month ahead, or clear it once the end date is passed.
+     */
+    public void advance() {
+        LocalDate next = occurrenceIn(YearMonth.from(nextOccurrence).plusMonths(1));
+        nextOccurrence = endDate != null && next.isAfter(endDate) ? null : next;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
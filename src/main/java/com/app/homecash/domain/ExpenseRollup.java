@@ -0,0 +1,63 @@
+package com.app.homecash.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Count and total of a house's expenses for one month, category and status.
+ * The month is the one the expense was created in, or for a generated occurrence the month it occurs in
+ * (see {@link Expense#periodDate()}). Rows are kept up to date
+ * by every expense write and reconciled against the expenses in the background.
+ */
+@Entity
+@Table(name = "expense_rollups", indexes = {
+    @Index(name = "idx_expense_rollup_key", columnList = "houseId,periodYear,periodMonth,category,status", unique = true)
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "house_id", nullable = false)
+    private Long houseId;
+
+    // Not "year" and "month", which are reserved words in H2
+    @NotNull
+    @Column(name = "period_year", nullable = false)
+    private Integer periodYear;
+
+    @NotNull
+    @Column(name = "period_month", nullable = false)
+    private Integer periodMonth;
+
+    @NotNull
+    @Column(nullable = false)
+    private String category;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExpenseStatus status;
+
+    @NotNull
+    @Column(name = "expense_count", nullable = false)
+    @Builder.Default
+    private Long expenseCount = 0L;
+
+    @NotNull
+    @Column(name = "total_cents", nullable = false)
+    @Builder.Default
+    private Long totalCents = 0L;
+}
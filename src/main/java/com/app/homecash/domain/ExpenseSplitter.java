@@ -0,0 +1,136 @@
+package com.app.homecash.domain;
+
+import java.util.Arrays;
+
+/**
+ * Splits an expense total into participant amounts using exact long arithmetic.
+ * Proportional splits give each participant the floor of their share and hand the leftover cents,
+ * one each, to the largest remainders (ties go to the lower index), so the amounts always sum to the total
+ * and the same input always gives the same output.
+ */
+public final class ExpenseSplitter {
+
+    /** Basis points in 100%. */
+    public static final long FULL_PERCENTAGE = 10_000L;
+
+    private static final long MAX_WEIGHT = 1_000_000L;
+    private static final int MAX_PARTICIPANTS = 10_000;
+
+    private ExpenseSplitter() {
+    }
+
+    /**
+     * Split a total among participants.
+     *
+     * @param totalCents expense total, greater than 0
+     * @param method split method
+     * @param values one value per participant: ignored for EQUAL, basis points for PERCENTAGE (summing to 10000),
+     *               cents for FIXED (summing to the total), shares for WEIGHTED
+     * @return amount in cents per participant, in the order of {@code values}
+     * @throws IllegalArgumentException if the values are invalid or a participant would owe nothing
+     */
+    public static long[] split(long totalCents, SplitMethod method, long[] values) {
+        if (totalCents <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0");
+        }
+        if (values.length == 0 || values.length > MAX_PARTICIPANTS) {
+            throw new IllegalArgumentException("Split must have between 1 and " + MAX_PARTICIPANTS + " participants");
+        }
+
+        long[] amounts = switch (method) {
+            case EQUAL -> distribute(totalCents, equalWeights(values.length));
+            case PERCENTAGE -> distribute(totalCents, percentages(values));
+            case WEIGHTED -> distribute(totalCents, weights(values));
+            case FIXED -> fixed(totalCents, values);
+        };
+
+        // Domain rule: every participant owes a positive amount
+        for (long amount : amounts) {
+            if (amount <= 0) {
+                throw new IllegalArgumentException("Every participant must owe at least 1 cent");
+            }
+        }
+        return amounts;
+    }
+
+    private static long[] equalWeights(int participants) {
+        long[] weights = new long[participants];
+        Arrays.fill(weights, 1L);
+        return weights;
+    }
+
+    private static long[] percentages(long[] basisPoints) {
+        long sum = 0;
+        for (long value : basisPoints) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Percentages must be greater than 0");
+            }
+            sum += value;
+        }
+        if (sum != FULL_PERCENTAGE) {
+            throw new IllegalArgumentException("Percentages must sum to " + FULL_PERCENTAGE + " basis points");
+        }
+        return basisPoints;
+    }
+
+    private static long[] weights(long[] shares) {
+        for (long value : shares) {
+            if (value <= 0 || value > MAX_WEIGHT) {
+                throw new IllegalArgumentException("Weights must be between 1 and " + MAX_WEIGHT);
+            }
+        }
+        return shares;
+    }
+
+    private static long[] fixed(long totalCents, long[] cents) {
+        long sum = 0;
+        for (long value : cents) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Fixed amounts must be greater than 0");
+            }
+            sum = Math.addExact(sum, value);
+        }
+        if (sum != totalCents) {
+            throw new IllegalArgumentException(
+                "Sum of fixed amounts (" + sum + ") must equal expense total (" + totalCents + ")"
+            );
+        }
+        return cents.clone();
+    }
+
+    /**
+     * Largest-remainder distribution of {@code totalCents} proportionally to {@code weights}.
+     */
+    private static long[] distribute(long totalCents, long[] weights) {
+        int n = weights.length;
+        long weightSum = 0;
+        for (long weight : weights) {
+            weightSum += weight;
+        }
+
+        long[] amounts = new long[n];
+        // Sort keys pack (remainder, index) so that a primitive sort orders by remainder, then lower index
+        long[] keys = new long[n];
+        long distributed = 0;
+        try {
+            for (int i = 0; i < n; i++) {
+                long product = Math.multiplyExact(totalCents, weights[i]);
+                amounts[i] = product / weightSum;
+                long remainder = product % weightSum;
+                keys[i] = Math.addExact(Math.multiplyExact(remainder, n), n - 1 - i);
+                distributed += amounts[i];
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is too large to split");
+        }
+
+        // Leftover is always smaller than the number of participants
+        Arrays.sort(keys);
+        long leftover = totalCents - distributed;
+        for (int k = 0; k < leftover; k++) {
+            int index = n - 1 - (int) (keys[n - 1 - k] % n);
+            amounts[index]++;
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,44 @@
+package com.app.homecash.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Net position of a member within a house, maintained incrementally from OWES participants.
+ * A participant owes their share to the member who created the expense, so a positive balance means
+ * the member is owed money and a negative balance means the member owes money.
+ * The balances of a house always sum to zero.
+ */
+@Entity
+@Table(name = "house_balances", indexes = {
+    @Index(name = "idx_house_balance_unique", columnList = "houseId,userId", unique = true)
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HouseBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "house_id", nullable = false)
+    private Long houseId;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "balance_cents", nullable = false)
+    @Builder.Default
+    private Long balanceCents = 0L;
+}
@@ -0,0 +1,31 @@
+package com.app.homecash.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Named counter from which blocks of values are reserved.
+ * {@code nextValue} is the first value not yet handed out.
+ */
+@Entity
+@Table(name = "id_sequences")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdSequence {
+
+    @Id
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    @NotNull
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -2,7 +2,7 @@ package com.app.homecash.domain;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 @Table(name = "invoices", indexes = {
     @Index(name = "idx_invoice_credit_card", columnList = "creditCardId"),
     @Index(name = "idx_invoice_status", columnList = "status"),
-    @Index(name = "idx_invoice_month_year", columnList = "creditCardId,month,year", unique = true)
+    @Index(name = "idx_invoice_month_year", columnList = "creditCardId,year,month", unique = true)
 })
 @Getter
 @Setter
@@ -41,7 +41,7 @@ public class Invoice {
     private Integer year;
 
     @NotNull
-    @Positive
+    @PositiveOrZero
     @Column(name = "total_cents", nullable = false)
     private Long totalCents;
 
@@ -22,7 +22,8 @@ import lombok.Setter;
 public class InvoiceExpense {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_expense_seq")
+    @SequenceGenerator(name = "invoice_expense_seq", sequenceName = "invoice_expenses_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -0,0 +1,147 @@
+package com.app.homecash.domain;
+
+/**
+ * Turns net member balances into a short list of settle-up transfers.
+ * The greedy algorithm repeatedly matches the largest debtor with the largest creditor and transfers
+ * the smaller of the two amounts, so every transfer zeroes at least one member and a house of n members
+ * never needs more than n - 1 transfers. Both sides are kept in primitive binary max-heaps
+ * (ties go to the lower index), so the same input always gives the same plan and no object is allocated per edge.
+ */
+public final class SettlementPlanner {
+
+    private SettlementPlanner() {
+    }
+
+    /**
+     * Plan the transfers that bring every balance to zero.
+     *
+     * @param userIds member user ids
+     * @param balancesCents net balance per member, in the order of {@code userIds}:
+     *                      positive when the member is owed money, negative when they owe it
+     * @return transfers from debtors to creditors
+     * @throws IllegalArgumentException if the arrays differ in length or the balances do not sum to zero
+     */
+    public static Plan plan(long[] userIds, long[] balancesCents) {
+        if (userIds.length != balancesCents.length) {
+            throw new IllegalArgumentException("Every member must have exactly one balance");
+        }
+
+        int n = userIds.length;
+        MaxHeap creditors = new MaxHeap(n);
+        MaxHeap debtors = new MaxHeap(n);
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            long balance = balancesCents[i];
+            sum = Math.addExact(sum, balance);
+            if (balance > 0) {
+                creditors.push(balance, i);
+            } else if (balance < 0) {
+                debtors.push(-balance, i);
+            }
+        }
+        // Domain rule: what is owed inside a house always equals what is owed to it
+        if (sum != 0) {
+            throw new IllegalArgumentException("Balances must sum to zero, found " + sum);
+        }
+
+        int capacity = Math.max(n - 1, 0);
+        long[] fromUserIds = new long[capacity];
+        long[] toUserIds = new long[capacity];
+        long[] amountsCents = new long[capacity];
+        int size = 0;
+        while (!debtors.isEmpty()) {
+            long owed = debtors.topKey();
+            int debtor = debtors.pop();
+            long due = creditors.topKey();
+            int creditor = creditors.pop();
+
+            long amount = Math.min(owed, due);
+            fromUserIds[size] = userIds[debtor];
+            toUserIds[size] = userIds[creditor];
+            amountsCents[size] = amount;
+            size++;
+
+            if (owed > amount) {
+                debtors.push(owed - amount, debtor);
+            }
+            if (due > amount) {
+                creditors.push(due - amount, creditor);
+            }
+        }
+        return new Plan(size, fromUserIds, toUserIds, amountsCents);
+    }
+
+    /**
+     * Planned transfers as parallel arrays; only the first {@code size} entries are used.
+     */
+    public record Plan(int size, long[] fromUserIds, long[] toUserIds, long[] amountsCents) {
+    }
+
+    /**
+     * Binary max-heap of member indices keyed by amount, ties ordered by lower index.
+     */
+    private static final class MaxHeap {
+
+        private final long[] keys;
+        private final int[] indices;
+        private int size;
+
+        MaxHeap(int capacity) {
+            this.keys = new long[capacity];
+            this.indices = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long topKey() {
+            return keys[0];
+        }
+
+        void push(long key, int index) {
+            int slot = size++;
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (!before(key, index, keys[parent], indices[parent])) {
+                    break;
+                }
+                keys[slot] = keys[parent];
+                indices[slot] = indices[parent];
+                slot = parent;
+            }
+            keys[slot] = key;
+            indices[slot] = index;
+        }
+
+        int pop() {
+            int top = indices[0];
+            size--;
+            long key = keys[size];
+            int index = indices[size];
+            int slot = 0;
+            while (true) {
+                int child = 2 * slot + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(keys[child + 1], indices[child + 1], keys[child], indices[child])) {
+                    child++;
+                }
+                if (!before(keys[child], indices[child], key, index)) {
+                    break;
+                }
+                keys[slot] = keys[child];
+                indices[slot] = indices[child];
+                slot = child;
+            }
+            keys[slot] = key;
+            indices[slot] = index;
+            return top;
+        }
+
+        private static boolean before(long key, int index, long otherKey, int otherIndex) {
+            return key > otherKey || (key == otherKey && index < otherIndex);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.app.homecash.domain;
+
+public enum SplitMethod {
+    EQUAL,
+    PERCENTAGE,
+    FIXED,
+    WEIGHTED
+}
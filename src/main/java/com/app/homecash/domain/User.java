@@ -55,6 +55,11 @@ public class User {
     @Builder.Default
     private Boolean active = true;
 
+    @NotNull
+    @Column(name = "membership_version", nullable = false)
+    @Builder.Default
+    private Long membershipVersion = 0L;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -70,6 +75,9 @@ public class User {
         if (active == null) {
             active = true;
         }
+        if (membershipVersion == null) {
+            membershipVersion = 0L;
+        }
     }
 
     @PreUpdate
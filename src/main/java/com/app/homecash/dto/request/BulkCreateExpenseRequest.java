@@ -0,0 +1,25 @@
+package com.app.homecash.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Expenses to create in one request.
+ * Rows are validated one by one so that invalid rows are reported without rejecting the others.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateExpenseRequest {
+
+    @NotEmpty(message = "At least one expense is required")
+    private List<CreateExpenseRequest> expenses;
+}
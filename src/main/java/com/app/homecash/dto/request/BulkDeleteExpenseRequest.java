@@ -0,0 +1,25 @@
+package com.app.homecash.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Expenses of one house to delete in one request.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteExpenseRequest {
+
+    @NotEmpty(message = "At least one expense id is required")
+    private List<@NotNull Long> expenseIds;
+}
@@ -0,0 +1,31 @@
+package com.app.homecash.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateRecurrenceRequest {
+
+    /**
+     * Defaults to the day of the expense's due date.
+     */
+    @Min(value = 1, message = "Day of month must be between 1 and 31")
+    @Max(value = 31, message = "Day of month must be between 1 and 31")
+    private Integer dayOfMonth;
+
+    /**
+     * Last date an occurrence may fall on; open-ended when absent.
+     */
+    private LocalDate endDate;
+}
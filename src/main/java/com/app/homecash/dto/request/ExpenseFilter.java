@@ -0,0 +1,41 @@
+package com.app.homecash.dto.request;
+
+import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.domain.ExpenseType;
+import com.app.homecash.domain.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for listing a house's expenses; null fields are ignored.
+ * The due date range is inclusive on both ends.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseFilter {
+
+    private ExpenseStatus status;
+
+    private String category;
+
+    private PaymentMethod paymentMethod;
+
+    private ExpenseType type;
+
+    private Long creditCardId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueDateTo;
+}
@@ -0,0 +1,27 @@
+package com.app.homecash.dto.request;
+
+import com.app.homecash.domain.SplitMethod;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SplitExpenseRequest {
+
+    @NotNull(message = "Split method is required")
+    private SplitMethod method;
+
+    @NotEmpty(message = "At least one participant is required")
+    private List<@Valid SplitShareRequest> shares;
+}
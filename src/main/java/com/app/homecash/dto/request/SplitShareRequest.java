@@ -0,0 +1,24 @@
+package com.app.homecash.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SplitShareRequest {
+
+    @NotNull(message = "User id is required")
+    private Long userId;
+
+    /**
+     * Basis points for PERCENTAGE, cents for FIXED, shares for WEIGHTED; ignored for EQUAL.
+     */
+    private Long value;
+}
@@ -0,0 +1,25 @@
+package com.app.homecash.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateExpenseResponse {
+
+    private int created;
+    private int failed;
+
+    /**
+     * One result per requested row, in request order.
+     */
+    private List<BulkExpenseResult> results;
+}
@@ -0,0 +1,24 @@
+package com.app.homecash.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteExpenseResponse {
+
+    private int deleted;
+
+    /**
+     * Requested ids that were not deleted: paid, or not an expense of the house.
+     */
+    private List<Long> skippedIds;
+}
@@ -0,0 +1,22 @@
+package com.app.homecash.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of one row of a bulk create: the new expense id, or the reason the row was rejected.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExpenseResult {
+
+    private int index;
+    private Long id;
+    private String error;
+}
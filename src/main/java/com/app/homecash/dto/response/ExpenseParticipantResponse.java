@@ -0,0 +1,22 @@
+package com.app.homecash.dto.response;
+
+import com.app.homecash.domain.ParticipantStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseParticipantResponse {
+
+    private Long id;
+    private Long expenseId;
+    private Long userId;
+    private Long amountCents;
+    private ParticipantStatus status;
+}
@@ -0,0 +1,29 @@
+package com.app.homecash.dto.response;
+
+import com.app.homecash.domain.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRecurrenceResponse {
+
+    private Long id;
+    private Long houseId;
+    private String title;
+    private String category;
+    private Long amountCents;
+    private PaymentMethod paymentMethod;
+    private Long creditCardId;
+    private Integer dayOfMonth;
+    private LocalDate endDate;
+    private LocalDate nextOccurrence;
+}
@@ -30,5 +30,6 @@ public class ExpenseResponse {
     private ExpenseStatus status;
     private Long createdBy;
     private Long creditCardId;
+    private Long recurrenceId;
 }
 
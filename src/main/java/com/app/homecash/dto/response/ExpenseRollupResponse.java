@@ -0,0 +1,21 @@
+package com.app.homecash.dto.response;
+
+import com.app.homecash.domain.ExpenseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRollupResponse {
+
+    private String category;
+    private ExpenseStatus status;
+    private Long expenseCount;
+    private Long totalCents;
+}
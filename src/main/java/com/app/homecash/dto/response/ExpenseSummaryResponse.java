@@ -0,0 +1,28 @@
+package com.app.homecash.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSummaryResponse {
+
+    private Long houseId;
+    private Integer year;
+    private Integer month;
+    private Long expenseCount;
+    private Long totalCents;
+
+    /**
+     * Count and total per category and status, ordered by category then status.
+     */
+    private List<ExpenseRollupResponse> rollups;
+}
@@ -0,0 +1,22 @@
+package com.app.homecash.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HouseBalanceResponse {
+
+    private Long userId;
+
+    /**
+     * Positive: the member is owed this amount; negative: the member owes this amount.
+     */
+    private Long balanceCents;
+}
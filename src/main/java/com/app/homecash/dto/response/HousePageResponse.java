@@ -0,0 +1,24 @@
+package com.app.homecash.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HousePageResponse {
+
+    private List<HouseResponse> items;
+
+    /**
+     * Index of the next page, or null when this is the last page.
+     */
+    private Integer nextPage;
+}
@@ -1,5 +1,6 @@
 package com.app.homecash.dto.response;
 
+import com.app.homecash.domain.Role;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,5 +20,6 @@ public class HouseResponse {
     private String name;
     private String inviteCode;
     private LocalDateTime createdAt;
+    private Role role;
 }
 
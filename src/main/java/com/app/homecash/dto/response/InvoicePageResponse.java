@@ -0,0 +1,24 @@
+package com.app.homecash.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoicePageResponse {
+
+    private List<InvoiceResponse> items;
+
+    /**
+     * Token for the next (older) page, or null when this is the last page.
+     */
+    private String nextCursor;
+}
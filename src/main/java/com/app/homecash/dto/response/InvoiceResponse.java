@@ -8,7 +8,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Getter
 @Setter
@@ -25,6 +24,6 @@ public class InvoiceResponse {
     private InvoiceStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-    private List<Long> expenseIds;
+    private long[] expenseIds;
 }
 
@@ -1,8 +1,12 @@
 package com.app.homecash.mapper;
 
 import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.ExpenseParticipant;
+import com.app.homecash.domain.ExpenseRecurrence;
 import com.app.homecash.dto.request.CreateExpenseRequest;
 import com.app.homecash.dto.request.UpdateExpenseRequest;
+import com.app.homecash.dto.response.ExpenseParticipantResponse;
+import com.app.homecash.dto.response.ExpenseRecurrenceResponse;
 import com.app.homecash.dto.response.ExpenseResponse;
 import org.springframework.stereotype.Component;
 
@@ -55,7 +59,52 @@ public class ExpenseMapper {
             .status(expense.getStatus())
             .createdBy(expense.getCreatedBy())
             .creditCardId(expense.getCreditCardId())
+            .recurrenceId(expense.getRecurrenceId())
+            .build();
+    }
+
+    /**
+     * Maps ExpenseRecurrence entity to ExpenseRecurrenceResponse DTO using builder.
+     *
+     * @param recurrence ExpenseRecurrence entity
+     * @return ExpenseRecurrenceResponse DTO
+     */
+    public ExpenseRecurrenceResponse toRecurrenceResponse(ExpenseRecurrence recurrence) {
+        if (recurrence == null) {
+            return null;
+        }
+
+        return ExpenseRecurrenceResponse.builder()
+            .id(recurrence.getId())
+            .houseId(recurrence.getHouseId())
+            .title(recurrence.getTitle())
+            .category(recurrence.getCategory())
+            .amountCents(recurrence.getAmountCents())
+            .paymentMethod(recurrence.getPaymentMethod())
+            .creditCardId(recurrence.getCreditCardId())
+            .dayOfMonth(recurrence.getDayOfMonth())
+            .endDate(recurrence.getEndDate())
+            .nextOccurrence(recurrence.getNextOccurrence())
             .build();
     }
-}
 
+    /**
+     * Maps ExpenseParticipant entity to ExpenseParticipantResponse DTO using builder.
+     *
+     * @param participant ExpenseParticipant entity
+     * @return ExpenseParticipantResponse DTO
+     */
+    public ExpenseParticipantResponse toParticipantResponse(ExpenseParticipant participant) {
+        if (participant == null) {
+            return null;
+        }
+
+        return ExpenseParticipantResponse.builder()
+            .id(participant.getId())
+            .expenseId(participant.getExpenseId())
+            .userId(participant.getUserId())
+            .amountCents(participant.getAmountCents())
+            .status(participant.getStatus())
+            .build();
+    }
+}
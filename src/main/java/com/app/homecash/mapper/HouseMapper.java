@@ -4,6 +4,7 @@ import com.app.homecash.domain.House;
 import com.app.homecash.dto.request.CreateHouseRequest;
 import com.app.homecash.dto.response.CreateHouseResponse;
 import com.app.homecash.dto.response.HouseResponse;
+import com.app.homecash.repository.HouseMembershipView;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -62,5 +63,25 @@ public class HouseMapper {
             .createdAt(house.getCreatedAt())
             .build();
     }
+
+    /**
+     * Maps a house membership projection to HouseResponse using builder.
+     *
+     * @param membership house data with the member's role
+     * @return HouseResponse DTO including role
+     */
+    public HouseResponse toHouseResponse(HouseMembershipView membership) {
+        if (membership == null) {
+            return null;
+        }
+
+        return HouseResponse.builder()
+            .id(membership.getId())
+            .name(membership.getName())
+            .inviteCode(membership.getInviteCode())
+            .createdAt(membership.getCreatedAt())
+            .role(membership.getRole())
+            .build();
+    }
 }
 
@@ -4,8 +4,6 @@ import com.app.homecash.domain.Invoice;
 import com.app.homecash.dto.response.InvoiceResponse;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
 public class InvoiceMapper {
 
@@ -13,10 +11,10 @@ public class InvoiceMapper {
      * Maps Invoice entity to InvoiceResponse using builder.
      *
      * @param invoice Invoice entity
-     * @param expenseIds list of expense ids linked to the invoice
+     * @param expenseIds ids of the expenses linked to the invoice
      * @return InvoiceResponse DTO
      */
-    public InvoiceResponse toResponse(Invoice invoice, List<Long> expenseIds) {
+    public InvoiceResponse toResponse(Invoice invoice, long[] expenseIds) {
         if (invoice == null) {
             return null;
         }
@@ -2,13 +2,24 @@ package com.app.homecash.repository;
 
 import com.app.homecash.domain.CreditCard;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CreditCardRepository extends JpaRepository<CreditCard, Long> {
 
     List<CreditCard> findByUserId(Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Those of the given cards that belong to the user.
+     */
+    @Query("select c.id from CreditCard c where c.userId = :userId and c.id in :ids")
+    List<Long> findIdsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 }
 
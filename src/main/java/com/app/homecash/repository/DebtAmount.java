@@ -0,0 +1,13 @@
+package com.app.homecash.repository;
+
+/**
+ * Amount in cents one user owes another.
+ */
+public interface DebtAmount {
+
+    Long getCreditorId();
+
+    Long getDebtorId();
+
+    Long getAmountCents();
+}
@@ -3,8 +3,12 @@ package com.app.homecash.repository;
 import com.app.homecash.domain.ExpenseParticipant;
 import com.app.homecash.domain.ParticipantStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,5 +24,81 @@ public interface ExpenseParticipantRepository extends JpaRepository<ExpenseParti
     List<ExpenseParticipant> findByExpenseIdAndStatus(Long expenseId, ParticipantStatus status);
 
     long countByExpenseId(Long expenseId);
+
+    boolean existsByExpenseIdAndStatus(Long expenseId, ParticipantStatus status);
+
+    @Query("select p.userId as userId, p.amountCents as amountCents from ExpenseParticipant p " +
+           "where p.expenseId = :expenseId and p.status = com.app.homecash.domain.ParticipantStatus.OWES")
+    List<UserAmount> findOwedAmountsByExpenseId(@Param("expenseId") Long expenseId);
+
+    /**
+     * Total still owed by each member of a house, across all expenses.
+     */
+    @Query("select p.userId as userId, sum(p.amountCents) as amountCents " +
+           "from ExpenseParticipant p join Expense e on e.id = p.expenseId " +
+           "where e.houseId = :houseId and p.status = com.app.homecash.domain.ParticipantStatus.OWES " +
+           "group by p.userId")
+    List<UserAmount> sumOwedByDebtor(@Param("houseId") Long houseId);
+
+    /**
+     * Total still owed to each member of a house, as creator of the expenses.
+     */
+    @Query("select e.createdBy as userId, sum(p.amountCents) as amountCents " +
+           "from ExpenseParticipant p join Expense e on e.id = p.expenseId " +
+           "where e.houseId = :houseId and p.status = com.app.homecash.domain.ParticipantStatus.OWES " +
+           "group by e.createdBy")
+    List<UserAmount> sumOwedByCreditor(@Param("houseId") Long houseId);
+
+    @Modifying
+    @Query("update ExpenseParticipant p set p.status = com.app.homecash.domain.ParticipantStatus.PAID " +
+           "where p.expenseId = :expenseId and p.status = com.app.homecash.domain.ParticipantStatus.OWES")
+    int settleByExpenseId(@Param("expenseId") Long expenseId);
+
+    @Modifying
+    @Query("update ExpenseParticipant p set p.status = com.app.homecash.domain.ParticipantStatus.PAID " +
+           "where p.status = com.app.homecash.domain.ParticipantStatus.OWES " +
+           "and p.expenseId in (select e.id from Expense e where e.houseId = :houseId)")
+    int settleByHouseId(@Param("houseId") Long houseId);
+
+    @Query("select count(p) as count, coalesce(sum(p.amountCents), 0) as sumCents " +
+           "from ExpenseParticipant p where p.expenseId = :expenseId")
+    ParticipantTotals findTotalsByExpenseId(@Param("expenseId") Long expenseId);
+
+    /**
+     * What is still owed on some expenses, per creditor (expense creator) and debtor.
+     */
+    @Query("select e.createdBy as creditorId, p.userId as debtorId, sum(p.amountCents) as amountCents " +
+           "from ExpenseParticipant p join Expense e on e.id = p.expenseId " +
+           "where p.expenseId in :expenseIds and p.status = com.app.homecash.domain.ParticipantStatus.OWES " +
+           "group by e.createdBy, p.userId")
+    List<DebtAmount> sumOwedByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+
+    /**
+     * What is still owed on the expenses of an invoice, per house, creditor (expense creator) and debtor.
+     */
+    @Query("select e.houseId as houseId, e.createdBy as creditorId, p.userId as debtorId, sum(p.amountCents) as amountCents " +
+           "from ExpenseParticipant p join Expense e on e.id = p.expenseId " +
+           "where p.expenseId in (select l.expenseId from InvoiceExpense l where l.invoiceId = :invoiceId) " +
+           "and p.status = com.app.homecash.domain.ParticipantStatus.OWES " +
+           "group by e.houseId, e.createdBy, p.userId order by e.houseId")
+    List<HouseDebtAmount> sumOwedByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    @Modifying
+    @Query("update ExpenseParticipant p set p.status = com.app.homecash.domain.ParticipantStatus.PAID " +
+           "where p.status = com.app.homecash.domain.ParticipantStatus.OWES " +
+           "and p.expenseId in (select l.expenseId from InvoiceExpense l where l.invoiceId = :invoiceId)")
+    int settleByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    @Modifying
+    @Query("delete from ExpenseParticipant p where p.expenseId in :expenseIds")
+    int deleteByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+
+    /**
+     * Delete the participants of the given expenses that are not paid.
+     */
+    @Modifying
+    @Query("delete from ExpenseParticipant p where p.expenseId in (select e.id from Expense e " +
+           "where e.id in :expenseIds and e.status <> com.app.homecash.domain.ExpenseStatus.PAID)")
+    int deleteUnpaidByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
 }
 
@@ -0,0 +1,40 @@
+package com.app.homecash.repository;
+
+import com.app.homecash.domain.ExpenseRecurrence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExpenseRecurrenceRepository extends JpaRepository<ExpenseRecurrence, Long> {
+
+    /**
+     * Houses after {@code afterHouseId} with an occurrence due on or before {@code until}, in house id order.
+     */
+    @Query("select distinct r.houseId from ExpenseRecurrence r " +
+           "where r.houseId > :afterHouseId and r.nextOccurrence <= :until order by r.houseId")
+    List<Long> findDueHouseIds(@Param("afterHouseId") Long afterHouseId, @Param("until") LocalDate until, Limit limit);
+
+    /**
+     * Lock the due recurrences of a range of houses, so concurrent runs cannot generate the same occurrences.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ExpenseRecurrence r " +
+           "where r.houseId between :fromHouseId and :toHouseId and r.nextOccurrence <= :until " +
+           "order by r.houseId, r.id")
+    List<ExpenseRecurrence> lockDueByHouseIdBetween(@Param("fromHouseId") Long fromHouseId,
+                                                    @Param("toHouseId") Long toHouseId,
+                                                    @Param("until") LocalDate until);
+
+    @Modifying
+    @Query("delete from ExpenseRecurrence r where r.houseId = :houseId")
+    int deleteByHouseId(@Param("houseId") Long houseId);
+}
@@ -2,18 +2,174 @@ package com.app.homecash.repository;
 
 import com.app.homecash.domain.Expense;
 import com.app.homecash.domain.ExpenseStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {
 
     List<Expense> findByHouseId(Long houseId);
 
     List<Expense> findByHouseIdAndStatus(Long houseId, ExpenseStatus status);
 
     List<Expense> findByCreatedBy(Long userId);
+
+    /**
+     * Stream a house's expenses, oldest first, through a forward-only cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e from Expense e where e.houseId = :houseId order by e.createdAt, e.id")
+    Stream<Expense> streamByHouseId(@Param("houseId") Long houseId);
+
+    /**
+     * Lock a page of the expenses of a house after the given id, in id order, so none can be paid while they are purged.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from Expense e where e.houseId = :houseId and e.id > :afterId order by e.id")
+    List<Long> lockIdsByHouseId(@Param("houseId") Long houseId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Houses that were deleted while some of their expenses still remain to be purged;
+     * expenses on a closed or paid invoice are kept by the purge and do not count.
+     */
+    @Query("select distinct e.houseId from Expense e where not exists (select h.id from House h where h.id = e.houseId) " +
+           "and not exists (select l.id from InvoiceExpense l join Invoice i on i.id = l.invoiceId " +
+           "where l.expenseId = e.id and i.status <> com.app.homecash.domain.InvoiceStatus.OPEN)")
+    List<Long> findOrphanedHouseIds();
+
+    /**
+     * Mark an unpaid expense as paid only if its participants sum to its total.
+     * No participants means a null sum, which never matches.
+     *
+     * @return 1 if the expense was marked as paid, 0 otherwise
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Expense e set e.status = com.app.homecash.domain.ExpenseStatus.PAID " +
+           "where e.id = :id and e.status <> com.app.homecash.domain.ExpenseStatus.PAID " +
+           "and e.amountCents = (select sum(p.amountCents) from ExpenseParticipant p where p.expenseId = e.id)")
+    int markPaidIfBalanced(@Param("id") Long id);
+
+    /**
+     * Recompute a house's rollups from its expenses, grouped by period month (occurrence date of a generated
+     * occurrence, otherwise creation date), category and status.
+     */
+    @Query("select extract(year from coalesce(e.occurrenceDate, cast(e.createdAt as LocalDate))) as year, " +
+           "extract(month from coalesce(e.occurrenceDate, cast(e.createdAt as LocalDate))) as month, " +
+           "e.category as category, e.status as status, count(e) as expenseCount, sum(e.amountCents) as totalCents " +
+           "from Expense e where e.houseId = :houseId " +
+           "group by extract(year from coalesce(e.occurrenceDate, cast(e.createdAt as LocalDate))), " +
+           "extract(month from coalesce(e.occurrenceDate, cast(e.createdAt as LocalDate))), e.category, e.status")
+    List<RollupTotals> sumRollupsByHouseId(@Param("houseId") Long houseId);
+
+    /**
+     * First OPEN expenses due before {@code now} in (due date, id) order, read from the (status, due_date) index.
+     */
+    @Query("select e.id as id, e.dueDate as dueDate from Expense e " +
+           "where e.status = com.app.homecash.domain.ExpenseStatus.OPEN and e.dueDate < :now " +
+           "order by e.dueDate, e.id")
+    List<OverdueCandidate> findOverdueCandidates(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * OPEN expenses due before {@code now} that come after the given position in (due date, id) order.
+     * The due date bound lets the (status, due_date) index seek straight to the position.
+     */
+    @Query("select e.id as id, e.dueDate as dueDate from Expense e " +
+           "where e.status = com.app.homecash.domain.ExpenseStatus.OPEN and e.dueDate < :now " +
+           "and e.dueDate >= :afterDueDate and (e.dueDate > :afterDueDate or e.id > :afterId) " +
+           "order by e.dueDate, e.id")
+    List<OverdueCandidate> findOverdueCandidatesAfter(@Param("now") LocalDateTime now,
+                                                      @Param("afterDueDate") LocalDateTime afterDueDate,
+                                                      @Param("afterId") Long afterId,
+                                                      Limit limit);
+
+    /**
+     * Lock those of the given expenses that are still OPEN and due before {@code now}, so their status cannot
+     * change until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Expense e where e.id in :ids " +
+           "and e.status = com.app.homecash.domain.ExpenseStatus.OPEN and e.dueDate < :now")
+    List<Expense> lockOverdueByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Expense e set e.status = com.app.homecash.domain.ExpenseStatus.OVERDUE " +
+           "where e.id in :ids and e.status = com.app.homecash.domain.ExpenseStatus.OPEN")
+    int markOverdue(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load an expense and lock it, so it is read as it is now and cannot be paid or changed
+     * until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Expense e where e.id = :id")
+    Optional<Expense> lockById(@Param("id") Long id);
+
+    /**
+     * Lock the unpaid expenses of a house among the given ids, so they cannot be paid or changed
+     * until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Expense e where e.houseId = :houseId and e.id in :ids " +
+           "and e.status <> com.app.homecash.domain.ExpenseStatus.PAID order by e.id")
+    List<Expense> lockUnpaidByHouseIdAndIdIn(@Param("houseId") Long houseId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Lock the unpaid expenses linked to an invoice, in id order, so their status cannot change
+     * until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from Expense e where e.id in " +
+           "(select l.expenseId from InvoiceExpense l where l.invoiceId = :invoiceId) " +
+           "and e.status <> com.app.homecash.domain.ExpenseStatus.PAID order by e.id")
+    List<Long> lockUnpaidIdsByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    /**
+     * Rollup totals of the unpaid expenses linked to an invoice, per house, period month, category and status.
+     */
+    @Query("select e.houseId as houseId, " +
+           "extract(year from coalesce(e.occurrenceDate, cast(e.createdAt as LocalDate))) as year, " +
+           "extract(month from coalesce(e.occurrenceDate, cast(e.createdAt as LocalDate))) as month, " +
+           "e.category as category, e.status as status, count(e) as expenseCount, sum(e.amountCents) as totalCents " +
+           "from Expense e where e.id in (select l.expenseId from InvoiceExpense l where l.invoiceId = :invoiceId) " +
+           "and e.status <> com.app.homecash.domain.ExpenseStatus.PAID " +
+           "group by e.houseId, extract(year from coalesce(e.occurrenceDate, cast(e.createdAt as LocalDate))), " +
+           "extract(month from coalesce(e.occurrenceDate, cast(e.createdAt as LocalDate))), e.category, e.status")
+    List<HouseRollupTotals> sumUnpaidRollupsByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    @Modifying
+    @Query("update Expense e set e.status = com.app.homecash.domain.ExpenseStatus.PAID " +
+           "where e.id in (select l.expenseId from InvoiceExpense l where l.invoiceId = :invoiceId) " +
+           "and e.status <> com.app.homecash.domain.ExpenseStatus.PAID")
+    int markPaidByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    @Modifying
+    @Query("delete from Expense e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Expense e where e.id in :ids and e.status <> com.app.homecash.domain.ExpenseStatus.PAID")
+    int deleteUnpaidByIdIn(@Param("ids") Collection<Long> ids);
 }
 
@@ -0,0 +1,58 @@
+package com.app.homecash.repository;
+
+import com.app.homecash.domain.ExpenseRollup;
+import com.app.homecash.domain.ExpenseStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExpenseRollupRepository extends JpaRepository<ExpenseRollup, Long> {
+
+    List<ExpenseRollup> findByHouseIdAndPeriodYearAndPeriodMonthOrderByCategoryAscStatusAsc(Long houseId, Integer year, Integer month);
+
+    /**
+     * Lock every rollup row of a house, in key order, so no expense write can change them until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ExpenseRollup r where r.houseId = :houseId " +
+           "order by r.periodYear, r.periodMonth, r.category, r.status")
+    List<ExpenseRollup> lockByHouseId(@Param("houseId") Long houseId);
+
+    /**
+     * Lock the rollups of a range of houses for one month, in house and key order.
+     * A range rather than an id list, so every database can seek the unique key index
+     * (H2 falls back to scanning it for an IN list followed by more key columns).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ExpenseRollup r where r.houseId between :fromHouseId and :toHouseId " +
+           "and r.periodYear = :year and r.periodMonth = :month " +
+           "order by r.houseId, r.category, r.status")
+    List<ExpenseRollup> lockByHouseIdBetweenAndPeriod(@Param("fromHouseId") Long fromHouseId,
+                                                      @Param("toHouseId") Long toHouseId,
+                                                      @Param("year") Integer year,
+                                                      @Param("month") Integer month);
+
+    @Modifying
+    @Query("update ExpenseRollup r set r.expenseCount = r.expenseCount + :countDelta, " +
+           "r.totalCents = r.totalCents + :centsDelta " +
+           "where r.houseId = :houseId and r.periodYear = :year and r.periodMonth = :month " +
+           "and r.category = :category and r.status = :status")
+    int addToRollup(@Param("houseId") Long houseId,
+                    @Param("year") Integer year,
+                    @Param("month") Integer month,
+                    @Param("category") String category,
+                    @Param("status") ExpenseStatus status,
+                    @Param("countDelta") long countDelta,
+                    @Param("centsDelta") long centsDelta);
+
+    @Modifying
+    @Query("delete from ExpenseRollup r where r.houseId = :houseId")
+    int deleteByHouseId(@Param("houseId") Long houseId);
+}
@@ -0,0 +1,67 @@
+package com.app.homecash.repository;
+
+import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.domain.ExpenseType;
+import com.app.homecash.domain.PaymentMethod;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicates for dynamic expense queries.
+ * Optional predicates return null for a null argument, which {@link Specification#and} ignores.
+ * Every query must start from {@link #inHouse(Long)} so it can use the house_id-prefixed indexes.
+ */
+public final class ExpenseSpecifications {
+
+    private ExpenseSpecifications() {
+    }
+
+    public static Specification<Expense> inHouse(Long houseId) {
+        return (root, query, cb) -> cb.equal(root.get("houseId"), houseId);
+    }
+
+    public static Specification<Expense> hasStatus(ExpenseStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Expense> hasCategory(String category) {
+        return category == null || category.isBlank()
+            ? null
+            : (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Expense> hasPaymentMethod(PaymentMethod paymentMethod) {
+        return paymentMethod == null ? null : (root, query, cb) -> cb.equal(root.get("paymentMethod"), paymentMethod);
+    }
+
+    public static Specification<Expense> hasType(ExpenseType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Expense> hasCreditCard(Long creditCardId) {
+        return creditCardId == null ? null : (root, query, cb) -> cb.equal(root.get("creditCardId"), creditCardId);
+    }
+
+    public static Specification<Expense> dueFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<Expense> dueUntil(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), to);
+    }
+
+    /**
+     * Rows strictly after the given position in (createdAt desc, id desc) order.
+     */
+    public static Specification<Expense> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("createdAt"), createdAt),
+            cb.and(
+                cb.equal(root.get("createdAt"), createdAt),
+                cb.lessThan(root.get("id"), id)
+            )
+        );
+    }
+}
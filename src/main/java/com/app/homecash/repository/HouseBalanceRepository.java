@@ -0,0 +1,42 @@
+package com.app.homecash.repository;
+
+import com.app.homecash.domain.HouseBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HouseBalanceRepository extends JpaRepository<HouseBalance, Long> {
+
+    List<HouseBalance> findByHouseIdOrderByUserId(Long houseId);
+
+    boolean existsByHouseIdAndUserId(Long houseId, Long userId);
+
+    /**
+     * Lock every balance row of a house, so no debt can be recorded in it until the transaction ends.
+     * Only ids are selected, so no balance is loaded into the persistence context and then left stale
+     * by the bulk updates that follow.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id from HouseBalance b where b.houseId = :houseId order by b.userId")
+    List<Long> lockIdsByHouseId(@Param("houseId") Long houseId);
+
+    @Modifying
+    @Query("update HouseBalance b set b.balanceCents = b.balanceCents + :deltaCents " +
+           "where b.houseId = :houseId and b.userId = :userId")
+    int addToBalance(@Param("houseId") Long houseId, @Param("userId") Long userId, @Param("deltaCents") long deltaCents);
+
+    @Modifying
+    @Query("update HouseBalance b set b.balanceCents = 0 where b.houseId = :houseId")
+    int resetByHouseId(@Param("houseId") Long houseId);
+
+    @Modifying
+    @Query("delete from HouseBalance b where b.houseId = :houseId")
+    int deleteByHouseId(@Param("houseId") Long houseId);
+}
@@ -0,0 +1,9 @@
+package com.app.homecash.repository;
+
+/**
+ * Amount in cents one user owes another within a house.
+ */
+public interface HouseDebtAmount extends DebtAmount {
+
+    Long getHouseId();
+}
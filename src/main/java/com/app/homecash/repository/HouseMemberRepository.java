@@ -3,8 +3,12 @@ package com.app.homecash.repository;
 import com.app.homecash.domain.HouseMember;
 import com.app.homecash.domain.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,5 +26,22 @@ public interface HouseMemberRepository extends JpaRepository<HouseMember, Long>
     long countByHouseId(Long houseId);
 
     long countByHouseIdAndRole(Long houseId, Role role);
+
+    boolean existsByUserIdAndRole(Long userId, Role role);
+
+    long countByHouseIdAndUserIdIn(Long houseId, Collection<Long> userIds);
+
+    /**
+     * Houses in which the user is the only owner.
+     */
+    @Query("select m.houseId from HouseMember m " +
+           "where m.role = com.app.homecash.domain.Role.OWNER and m.houseId in " +
+           "(select own.houseId from HouseMember own where own.userId = :userId and own.role = com.app.homecash.domain.Role.OWNER) " +
+           "group by m.houseId having count(m) = 1")
+    List<Long> findHouseIdsSolelyOwnedBy(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from HouseMember m where m.houseId = :houseId")
+    int deleteByHouseId(@Param("houseId") Long houseId);
 }
 
@@ -0,0 +1,21 @@
+package com.app.homecash.repository;
+
+import com.app.homecash.domain.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a house together with the role of one of its members.
+ */
+public interface HouseMembershipView {
+
+    Long getId();
+
+    String getName();
+
+    String getInviteCode();
+
+    LocalDateTime getCreatedAt();
+
+    Role getRole();
+}
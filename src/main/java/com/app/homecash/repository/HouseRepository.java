@@ -1,14 +1,33 @@
 package com.app.homecash.repository;
 
 import com.app.homecash.domain.House;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface HouseRepository extends JpaRepository<House, Long> {
 
     Optional<House> findByInviteCode(String inviteCode);
+
+    @Query("select h.id as id, h.name as name, h.inviteCode as inviteCode, h.createdAt as createdAt, m.role as role " +
+           "from HouseMember m join House h on h.id = m.houseId " +
+           "where m.userId = :userId order by h.id")
+    Slice<HouseMembershipView> findMembershipsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("select h.id from House h where h.id > :afterId order by h.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from House h where h.id = :houseId")
+    int deleteHouse(@Param("houseId") Long houseId);
 }
 
@@ -0,0 +1,9 @@
+package com.app.homecash.repository;
+
+/**
+ * Expense count and total for one house, month, category and status.
+ */
+public interface HouseRollupTotals extends RollupTotals {
+
+    Long getHouseId();
+}
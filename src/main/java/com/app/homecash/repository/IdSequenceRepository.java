@@ -0,0 +1,25 @@
+package com.app.homecash.repository;
+
+import com.app.homecash.domain.IdSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IdSequenceRepository extends JpaRepository<IdSequence, String> {
+
+    @Modifying
+    @Query("update IdSequence s set s.nextValue = s.nextValue + :blockSize where s.name = :name")
+    int advance(@Param("name") String name, @Param("blockSize") long blockSize);
+
+    @Modifying
+    @Query(value = "insert into id_sequences (name, next_value) values (:name, :nextValue)", nativeQuery = true)
+    int insert(@Param("name") String name, @Param("nextValue") long nextValue);
+
+    @Query("select s.nextValue from IdSequence s where s.name = :name")
+    Optional<Long> findNextValueByName(@Param("name") String name);
+}
@@ -0,0 +1,11 @@
+package com.app.homecash.repository;
+
+/**
+ * Amount in cents of the expenses linked to an invoice.
+ */
+public interface InvoiceAmount {
+
+    Long getInvoiceId();
+
+    Long getAmountCents();
+}
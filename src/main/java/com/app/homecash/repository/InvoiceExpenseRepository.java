@@ -2,8 +2,12 @@ package com.app.homecash.repository;
 
 import com.app.homecash.domain.InvoiceExpense;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,5 +16,40 @@ public interface InvoiceExpenseRepository extends JpaRepository<InvoiceExpense,
     List<InvoiceExpense> findByInvoiceId(Long invoiceId);
 
     List<InvoiceExpense> findByExpenseId(Long expenseId);
+
+    /**
+     * Check the expenses of an invoice in one query; a link to a deleted expense counts as a link only.
+     */
+    @Query("select count(l) as linkCount, count(e) as expenseCount, " +
+           "coalesce(sum(case when e.paymentMethod <> com.app.homecash.domain.PaymentMethod.CREDIT then 1 else 0 end), 0) " +
+           "as nonCreditCount " +
+           "from InvoiceExpense l left join Expense e on e.id = l.expenseId where l.invoiceId = :invoiceId")
+    InvoiceLinkTotals findTotalsByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    @Query("select l.expenseId from InvoiceExpense l where l.invoiceId = :invoiceId order by l.expenseId")
+    List<Long> findExpenseIdsByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    @Query("select l.invoiceId as invoiceId, l.expenseId as expenseId from InvoiceExpense l " +
+           "where l.invoiceId in :invoiceIds order by l.invoiceId, l.expenseId")
+    List<InvoiceLink> findLinksByInvoiceIdIn(@Param("invoiceIds") Collection<Long> invoiceIds);
+
+    /**
+     * Amount each invoice holds of the given expenses, in invoice order.
+     */
+    @Query("select l.invoiceId as invoiceId, sum(e.amountCents) as amountCents " +
+           "from InvoiceExpense l join Expense e on e.id = l.expenseId " +
+           "where l.expenseId in :expenseIds group by l.invoiceId order by l.invoiceId")
+    List<InvoiceAmount> sumAmountsByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+
+    /**
+     * Those of the given expenses that are linked to an invoice that is closed or paid.
+     */
+    @Query("select l.expenseId from InvoiceExpense l join Invoice i on i.id = l.invoiceId " +
+           "where l.expenseId in :expenseIds and i.status <> com.app.homecash.domain.InvoiceStatus.OPEN")
+    List<Long> findExpenseIdsOnNotOpenInvoice(@Param("expenseIds") Collection<Long> expenseIds);
+
+    @Modifying
+    @Query("delete from InvoiceExpense l where l.expenseId in :expenseIds")
+    int deleteByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
 }
 
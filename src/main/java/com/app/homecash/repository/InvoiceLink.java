@@ -0,0 +1,11 @@
+package com.app.homecash.repository;
+
+/**
+ * One expense linked to an invoice.
+ */
+public interface InvoiceLink {
+
+    Long getInvoiceId();
+
+    Long getExpenseId();
+}
@@ -0,0 +1,14 @@
+package com.app.homecash.repository;
+
+/**
+ * Number of expenses linked to an invoice, how many of them still exist,
+ * and how many of those are not paid by credit card.
+ */
+public interface InvoiceLinkTotals {
+
+    long getLinkCount();
+
+    long getExpenseCount();
+
+    long getNonCreditCount();
+}
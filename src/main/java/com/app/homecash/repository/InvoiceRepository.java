@@ -2,9 +2,17 @@ package com.app.homecash.repository;
 
 import com.app.homecash.domain.Invoice;
 import com.app.homecash.domain.InvoiceStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,8 +21,78 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
     List<Invoice> findByCreditCardId(Long creditCardId);
 
+    List<Invoice> findByCreditCardIdOrderByYearDescMonthDesc(Long creditCardId, Limit limit);
+
+    /**
+     * Invoices of a card for months before the given one, newest first.
+     */
+    @Query("select i from Invoice i where i.creditCardId = :creditCardId " +
+           "and (i.year < :year or (i.year = :year and i.month < :month)) " +
+           "order by i.year desc, i.month desc")
+    List<Invoice> findByCreditCardIdBefore(@Param("creditCardId") Long creditCardId,
+                                           @Param("year") Integer year,
+                                           @Param("month") Integer month,
+                                           Limit limit);
+
     List<Invoice> findByCreditCardIdAndStatus(Long creditCardId, InvoiceStatus status);
 
     Optional<Invoice> findByCreditCardIdAndMonthAndYear(Long creditCardId, Integer month, Integer year);
+
+    /**
+     * Cards with OPEN invoices after the given card id, in id order.
+     */
+    @Query("select distinct i.creditCardId from Invoice i " +
+           "where i.status = com.app.homecash.domain.InvoiceStatus.OPEN and i.creditCardId > :afterCardId " +
+           "order by i.creditCardId")
+    List<Long> findOpenCardIds(@Param("afterCardId") Long afterCardId, Limit limit);
+
+    /**
+     * Add to the total of an invoice unless it is no longer open.
+     *
+     * @return 1 if the total was changed, 0 otherwise
+     */
+    @Modifying
+    @Query("update Invoice i set i.totalCents = i.totalCents + :centsDelta, i.updatedAt = :now " +
+           "where i.id = :id and i.status = com.app.homecash.domain.InvoiceStatus.OPEN")
+    int addToOpenInvoice(@Param("id") Long id, @Param("centsDelta") long centsDelta, @Param("now") LocalDateTime now);
+
+    /**
+     * Lock the invoices the given expenses are linked to, in id order, so none can be closed or paid
+     * until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from Invoice i where i.id in " +
+           "(select l.invoiceId from InvoiceExpense l where l.expenseId in :expenseIds) order by i.id")
+    List<Long> lockIdsByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+
+    /**
+     * Close the OPEN invoices of a range of cards whose closing day is before the given date:
+     * every invoice of an earlier month, and the invoice of that month once the card's closing day has passed.
+     *
+     * @return number of invoices closed
+     */
+    @Modifying
+    @Query("update Invoice i set i.status = com.app.homecash.domain.InvoiceStatus.CLOSED, i.updatedAt = :now " +
+           "where i.status = com.app.homecash.domain.InvoiceStatus.OPEN " +
+           "and i.creditCardId between :fromCardId and :toCardId " +
+           "and (i.year < :year or (i.year = :year and i.month < :month) " +
+           "or (i.year = :year and i.month = :month and exists (select c.id from CreditCard c " +
+           "where c.id = i.creditCardId and c.closingDay < :day)))")
+    int closeDue(@Param("fromCardId") Long fromCardId,
+                 @Param("toCardId") Long toCardId,
+                 @Param("year") Integer year,
+                 @Param("month") Integer month,
+                 @Param("day") Integer day,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Mark an invoice as paid unless it already is.
+     *
+     * @return 1 if the invoice was marked as paid, 0 otherwise
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Invoice i set i.status = com.app.homecash.domain.InvoiceStatus.PAID, i.updatedAt = :now " +
+           "where i.id = :id and i.status <> com.app.homecash.domain.InvoiceStatus.PAID")
+    int markPaidIfUnpaid(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
 
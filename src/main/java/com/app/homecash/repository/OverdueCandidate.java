@@ -0,0 +1,13 @@
+package com.app.homecash.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id and due date of an OPEN expense that is past due; its position in (due date, id) order.
+ */
+public interface OverdueCandidate {
+
+    Long getId();
+
+    LocalDateTime getDueDate();
+}
@@ -0,0 +1,11 @@
+package com.app.homecash.repository;
+
+/**
+ * Number of participants of an expense and the sum of their amounts.
+ */
+public interface ParticipantTotals {
+
+    long getCount();
+
+    long getSumCents();
+}
@@ -0,0 +1,21 @@
+package com.app.homecash.repository;
+
+import com.app.homecash.domain.ExpenseStatus;
+
+/**
+ * Expense count and total for one month, category and status of a house.
+ */
+public interface RollupTotals {
+
+    Integer getYear();
+
+    Integer getMonth();
+
+    String getCategory();
+
+    ExpenseStatus getStatus();
+
+    Long getExpenseCount();
+
+    Long getTotalCents();
+}
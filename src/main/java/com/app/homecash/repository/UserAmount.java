@@ -0,0 +1,11 @@
+package com.app.homecash.repository;
+
+/**
+ * Amount in cents attributed to one user.
+ */
+public interface UserAmount {
+
+    Long getUserId();
+
+    Long getAmountCents();
+}
@@ -2,6 +2,9 @@ package com.app.homecash.repository;
 
 import com.app.homecash.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,5 +19,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmailAndActiveTrue(String email);
 
     Optional<User> findByCpfAndActiveTrue(String cpf);
+
+    @Query("select u.membershipVersion from User u where u.id = :userId")
+    Optional<Long> findMembershipVersionById(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update User u set u.membershipVersion = u.membershipVersion + 1 where u.id = :userId")
+    int incrementMembershipVersion(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update User u set u.membershipVersion = u.membershipVersion + 1 " +
+           "where u.id in (select m.userId from HouseMember m where m.houseId = :houseId)")
+    int incrementMembershipVersionForHouse(@Param("houseId") Long houseId);
 }
 
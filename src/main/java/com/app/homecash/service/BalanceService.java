@@ -0,0 +1,60 @@
+package com.app.homecash.service;
+
+import com.app.homecash.dto.response.HouseBalanceResponse;
+import com.app.homecash.dto.response.SettlementTransferResponse;
+
+import java.util.List;
+
+public interface BalanceService {
+
+    /**
+     * Get the net balance of every member of a house, read from the ledger.
+     * Validates that user belongs to house.
+     *
+     * @param houseId house id
+     * @param userId authenticated user id
+     * @return balances ordered by user id; members without activity may be absent
+     */
+    List<HouseBalanceResponse> getBalances(Long houseId, Long userId);
+
+    /**
+     * Rebuild a house's ledger from its OWES participants.
+     * Only owner can rebuild.
+     *
+     * @param houseId house id
+     * @param userId authenticated owner user id
+     * @return rebuilt balances ordered by user id
+     * @throws IllegalStateException if user is not the owner
+     */
+    List<HouseBalanceResponse> rebuild(Long houseId, Long userId);
+
+    /**
+     * Plan the fewest settle-up transfers that bring every member of a house to zero.
+     * Validates that user belongs to house.
+     *
+     * @param houseId house id
+     * @param userId authenticated user id
+     * @return transfers from debtors to creditors, largest first
+     */
+    List<SettlementTransferResponse> getSettlement(Long houseId, Long userId);
+
+    /**
+     * Settle a house: plan its transfers, then mark every OWES participant of the house as PAID
+     * in one update and zero the ledger.
+     * Only owner can apply a settlement.
+     *
+     * @param houseId house id
+     * @param userId authenticated owner user id
+     * @return the transfers the members must make to each other
+     * @throws IllegalStateException if user is not the owner
+     */
+    List<SettlementTransferResponse> applySettlement(Long houseId, Long userId);
+
+    /**
+     * Compare every house's ledger with a full recomputation.
+     * Mismatches are counted, and repaired when {@code balance.consistency-check.repair} is enabled.
+     *
+     * @return number of houses whose ledger did not match
+     */
+    int checkConsistency();
+}
@@ -1,9 +1,21 @@
 package com.app.homecash.service;
 
 import com.app.homecash.dto.request.CreateExpenseRequest;
+import com.app.homecash.dto.request.CreateRecurrenceRequest;
+import com.app.homecash.dto.request.ExpenseFilter;
+import com.app.homecash.dto.request.ExportFormat;
+import com.app.homecash.dto.request.SplitExpenseRequest;
 import com.app.homecash.dto.request.UpdateExpenseRequest;
+import com.app.homecash.dto.response.BulkCreateExpenseResponse;
+import com.app.homecash.dto.response.BulkDeleteExpenseResponse;
+import com.app.homecash.dto.response.ExpenseParticipantResponse;
+import com.app.homecash.dto.response.ExpenseRecurrenceResponse;
+import com.app.homecash.dto.response.ExpensePageResponse;
 import com.app.homecash.dto.response.ExpenseResponse;
+import com.app.homecash.dto.response.ExpenseSummaryResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ExpenseService {
@@ -23,15 +35,60 @@ public interface ExpenseService {
     ExpenseResponse create(Long houseId, CreateExpenseRequest request, Long userId);
 
     /**
-     * Get all expenses for a house.
+     * Create many expenses in one transaction.
+     * Validates permission and house once; each row is then validated on its own,
+     * and invalid rows are reported instead of failing the whole request.
+     * Valid rows are inserted in JDBC batches.
+     *
+     * @param houseId house id
+     * @param requests expenses to create, at most the configured maximum
+     * @param userId authenticated user id
+     * @return per-row results in request order
+     * @throws IllegalArgumentException if there are no rows, too many rows, or the house does not exist
+     */
+    BulkCreateExpenseResponse bulkCreate(Long houseId, List<CreateExpenseRequest> requests, Long userId);
+
+    /**
+     * Get one page of a house's expenses matching the filter, newest first.
      * Validates that user belongs to house.
      * Always filters by house (multi-tenant).
      *
      * @param houseId house id
+     * @param filter optional filters; null fields are ignored
+     * @param cursor token returned as nextCursor by the previous page with the same filter, or null for the first page
+     * @param size page size, capped at the configured maximum
      * @param userId authenticated user id
-     * @return List of ExpenseResponse DTOs
+     * @return page of ExpenseResponse DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid or size is not positive
      */
-    List<ExpenseResponse> getByHouse(Long houseId, Long userId);
+    ExpensePageResponse getByHouse(Long houseId, ExpenseFilter filter, String cursor, int size, Long userId);
+
+    /**
+     * Write every expense of a house to the output, oldest first, one row at a time.
+     * Validates that user belongs to house.
+     * Runs in a read-only transaction; rows are detached as soon as they are written.
+     *
+     * @param houseId house id
+     * @param format NDJSON or CSV
+     * @param userId authenticated user id
+     * @param out destination stream, left open
+     * @throws IOException if writing to the output fails
+     */
+    void exportByHouse(Long houseId, ExportFormat format, Long userId, OutputStream out) throws IOException;
+
+    /**
+     * Get how much a house spent in one month, per category and status.
+     * Validates that user belongs to house.
+     * Reads the pre-aggregated rollups, so the cost does not depend on the size of the history.
+     *
+     * @param houseId house id
+     * @param year year the expenses were created in
+     * @param month month the expenses were created in, 1 to 12
+     * @param userId authenticated user id
+     * @return ExpenseSummaryResponse DTO
+     * @throws IllegalArgumentException if the month is invalid
+     */
+    ExpenseSummaryResponse getMonthlySummary(Long houseId, int year, int month, Long userId);
 
     /**
      * Get expense by id.
@@ -71,17 +128,71 @@ public interface ExpenseService {
      */
     void delete(Long expenseId, Long userId);
 
+    /**
+     * Delete many expenses of a house in one transaction.
+     * Validates permission once; paid expenses and ids of other houses are skipped.
+     * Participants, invoice links and expenses are each removed with one statement.
+     *
+     * @param houseId house id
+     * @param expenseIds expenses to delete, at most the configured maximum
+     * @param userId authenticated user id
+     * @return number deleted and the ids that were skipped
+     * @throws IllegalArgumentException if there are no ids, too many ids, or user doesn't belong to house
+     */
+    BulkDeleteExpenseResponse bulkDelete(Long houseId, List<Long> expenseIds, Long userId);
+
+    /**
+     * Split an expense among house members, replacing any previous split.
+     * Supports EQUAL, PERCENTAGE (basis points), FIXED (cents) and WEIGHTED (shares) splits.
+     * Leftover cents go to the largest remainders, so participant amounts always sum to the expense total.
+     * Validates that user belongs to house and that every participant is a member.
+     *
+     * @param expenseId expense id
+     * @param request split method and one share per participant
+     * @param userId authenticated user id
+     * @return created participants ordered by user id
+     * @throws IllegalStateException if the expense or one of its participants is already paid
+     * @throws IllegalArgumentException if the shares are invalid
+     */
+    List<ExpenseParticipantResponse> split(Long expenseId, SplitExpenseRequest request, Long userId);
+
     /**
      * Mark expense as paid.
      * Validates that user belongs to house.
-     * Cannot be marked as paid without participants.
+     * Cannot be marked as paid without participants, or if participants do not sum to the total.
+     * The rules are enforced by a single conditional update, so only one concurrent call can succeed.
      *
      * @param expenseId expense id
      * @param userId authenticated user id
      * @return ExpenseResponse DTO
      * @throws IllegalArgumentException if expense not found or user doesn't belong to house
-     * @throws IllegalStateException if expense has no participants
+     * @throws IllegalStateException if expense is already paid, has no participants or is not balanced
      */
     ExpenseResponse markAsPaid(Long expenseId, Long userId);
+
+    /**
+     * Make a FIXED expense recur monthly.
+     * Validates that user belongs to house.
+     * The expense stands for the occurrence of its due month, still counted in its own period;
+     * later occurrences are generated in the background.
+     *
+     * @param expenseId expense id
+     * @param request day of month and optional end date
+     * @param userId authenticated user id
+     * @return ExpenseRecurrenceResponse DTO
+     * @throws IllegalArgumentException if expense not found or the end date is before the first occurrence
+     * @throws IllegalStateException if the expense is not FIXED or already recurs
+     */
+    ExpenseRecurrenceResponse createRecurrence(Long expenseId, CreateRecurrenceRequest request, Long userId);
+
+    /**
+     * Stop generating occurrences of an expense's recurrence. Occurrences already generated are kept.
+     * Validates that user belongs to house.
+     *
+     * @param expenseId id of any occurrence of the recurrence
+     * @param userId authenticated user id
+     * @throws IllegalArgumentException if expense not found or does not recur
+     */
+    void stopRecurrence(Long expenseId, Long userId);
 }
 
@@ -2,10 +2,9 @@ package com.app.homecash.service;
 
 import com.app.homecash.dto.request.CreateHouseRequest;
 import com.app.homecash.dto.response.CreateHouseResponse;
+import com.app.homecash.dto.response.HousePageResponse;
 import com.app.homecash.dto.response.HouseResponse;
 
-import java.util.List;
-
 public interface HouseService {
 
     /**
@@ -20,13 +19,16 @@ public interface HouseService {
     CreateHouseResponse create(CreateHouseRequest houseRequest, Long userId);
 
     /**
-     * Get all houses where the user is a member.
+     * Get a page of houses where the user is a member, with the user's role in each.
      * Always filters by authenticated user (multi-tenant).
      *
      * @param userId authenticated user id
-     * @return List of HouseResponse DTOs
+     * @param page zero-based page index
+     * @param size page size (capped by the service)
+     * @return page of HouseResponse DTOs ordered by house id, with the index of the next page if there is one
+     * @throws IllegalArgumentException if page or size is invalid
      */
-    List<HouseResponse> getHousesByUser(Long userId);
+    HousePageResponse getHousesByUser(Long userId, int page, int size);
 
     /**
      * Get house by id.
@@ -90,9 +92,9 @@ public interface HouseService {
     void removeMember(Long houseId, Long memberUserId, Long ownerUserId);
 
     /**
-     * Delete a house.
+     * Delete a house and its memberships.
      * Only owner can delete.
-     * House must always have at least one member.
+     * The house's expenses, participants and invoice links are purged in the background after commit.
      *
      * @param houseId house id
      * @param userId authenticated owner user id
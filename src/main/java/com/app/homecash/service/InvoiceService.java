@@ -1,22 +1,24 @@
 package com.app.homecash.service;
 
+import com.app.homecash.dto.response.InvoicePageResponse;
 import com.app.homecash.dto.response.InvoiceResponse;
 
-import java.util.List;
-
 public interface InvoiceService {
 
     /**
-     * Get all invoices for a credit card.
+     * Get one page of a credit card's invoices, newest (year, month) first.
      * Validates that user owns the credit card.
      * Always filters by authenticated user (multi-tenant).
      *
      * @param cardId credit card id
+     * @param cursor token returned as nextCursor by the previous page, or null for the first page
+     * @param size page size, capped at the configured maximum
      * @param userId authenticated user id
-     * @return List of InvoiceResponse DTOs
-     * @throws IllegalArgumentException if credit card not found or user doesn't own it
+     * @return page of InvoiceResponse DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if credit card not found, user doesn't own it,
+     *                                  the cursor is invalid or size is not positive
      */
-    List<InvoiceResponse> getByCreditCard(Long cardId, Long userId);
+    InvoicePageResponse getByCreditCard(Long cardId, String cursor, int size, Long userId);
 
     /**
      * Get invoice by id.
@@ -33,6 +35,7 @@ public interface InvoiceService {
      * Mark invoice as paid.
      * Validates that user owns the credit card.
      * Domain rule: Paying invoice marks all linked expenses as paid.
+     * The linked expenses are validated with one aggregate query and marked as paid with one update.
      *
      * @param invoiceId invoice id
      * @param userId authenticated user id
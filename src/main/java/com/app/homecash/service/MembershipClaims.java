@@ -0,0 +1,27 @@
+package com.app.homecash.service;
+
+import com.app.homecash.domain.Role;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * House memberships vouched for by the credentials of the current request,
+ * so permission checks can answer without querying house members.
+ */
+public interface MembershipClaims {
+
+    /**
+     * Get the memberships the current request's credentials carry for a user.
+     *
+     * @param userId user id
+     * @return claimed memberships, or empty if the request carries none for this user
+     */
+    Optional<ClaimedMemberships> forUser(Long userId);
+
+    /**
+     * Roles by house id, as of the user's membership version when the credentials were issued.
+     */
+    record ClaimedMemberships(Map<Long, Role> houseRoles, Long membershipVersion) {
+    }
+}
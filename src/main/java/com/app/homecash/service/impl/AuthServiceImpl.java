@@ -1,11 +1,14 @@
 package com.app.homecash.service.impl;
 
+import com.app.homecash.domain.HouseMember;
+import com.app.homecash.domain.Role;
 import com.app.homecash.domain.User;
 import com.app.homecash.dto.request.CreateUserRequest;
 import com.app.homecash.dto.request.LoginRequest;
 import com.app.homecash.dto.request.RegisterRequest;
 import com.app.homecash.dto.response.AuthResponse;
 import com.app.homecash.mapper.UserMapper;
+import com.app.homecash.repository.HouseMemberRepository;
 import com.app.homecash.repository.UserRepository;
 import com.app.homecash.service.AuthService;
 import com.app.homecash.service.UserService;
@@ -15,12 +18,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
     private final UserService userService;
     private final UserRepository userRepository;
+    private final HouseMemberRepository houseMemberRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
@@ -58,7 +65,7 @@ public class AuthServiceImpl implements AuthService {
         user = userRepository.save(user);
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(user.getId().toString(), user.getEmail());
+        String token = generateToken(user);
 
         return AuthResponse.builder()
             .token(token)
@@ -92,7 +99,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(user.getId().toString(), user.getEmail());
+        String token = generateToken(user);
 
         return AuthResponse.builder()
             .token(token)
@@ -102,6 +109,27 @@ public class AuthServiceImpl implements AuthService {
             .build();
     }
 
+    /**
+     * Generate a JWT for the user.
+     * When memberships are embedded in tokens, includes the user's house roles and membership version.
+     */
+    private String generateToken(User user) {
+        if (!jwtUtil.isEmbedMemberships()) {
+            return jwtUtil.generateToken(user.getId().toString(), user.getEmail());
+        }
+
+        Map<Long, Role> houseRoles = houseMemberRepository.findByUserId(user.getId())
+            .stream()
+            .collect(Collectors.toMap(HouseMember::getHouseId, HouseMember::getRole));
+
+        return jwtUtil.generateToken(
+            user.getId().toString(),
+            user.getEmail(),
+            houseRoles,
+            user.getMembershipVersion()
+        );
+    }
+
     /**
      * Validate user password.
      * Compares the raw password with the encrypted password stored in User entity.
@@ -0,0 +1,203 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.HouseBalance;
+import com.app.homecash.domain.SettlementPlanner;
+import com.app.homecash.dto.response.HouseBalanceResponse;
+import com.app.homecash.dto.response.SettlementTransferResponse;
+import com.app.homecash.repository.ExpenseParticipantRepository;
+import com.app.homecash.repository.HouseBalanceRepository;
+import com.app.homecash.repository.HouseRepository;
+import com.app.homecash.repository.UserAmount;
+import com.app.homecash.service.BalanceService;
+import com.app.homecash.service.HouseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class BalanceServiceImpl implements BalanceService {
+
+    private static final int CHECK_CHUNK_SIZE = 500;
+
+    private final HouseBalanceRepository houseBalanceRepository;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
+    private final HouseRepository houseRepository;
+    private final HouseService houseService;
+    private final HouseBalanceLedger houseBalanceLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean repairMismatches;
+    private final Counter mismatchCounter;
+
+    public BalanceServiceImpl(
+            HouseBalanceRepository houseBalanceRepository,
+            ExpenseParticipantRepository expenseParticipantRepository,
+            HouseRepository houseRepository,
+            HouseService houseService,
+            HouseBalanceLedger houseBalanceLedger,
+            PlatformTransactionManager transactionManager,
+            @Value("${balance.consistency-check.repair:false}") boolean repairMismatches,
+            MeterRegistry meterRegistry) {
+        this.houseBalanceRepository = houseBalanceRepository;
+        this.expenseParticipantRepository = expenseParticipantRepository;
+        this.houseRepository = houseRepository;
+        this.houseService = houseService;
+        this.houseBalanceLedger = houseBalanceLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repairMismatches = repairMismatches;
+        this.mismatchCounter = Counter.builder("homecash.balance.mismatches")
+            .description("Houses whose balance ledger did not match a full recomputation")
+            .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HouseBalanceResponse> getBalances(Long houseId, Long userId) {
+        // Validate user belongs to house (multi-tenant)
+        houseService.validateUserPermission(userId, houseId, false);
+
+        return toResponses(houseBalanceRepository.findByHouseIdOrderByUserId(houseId));
+    }
+
+    @Override
+    @Transactional
+    public List<HouseBalanceResponse> rebuild(Long houseId, Long userId) {
+        // Validate owner permission
+        houseService.validateUserPermission(userId, houseId, true);
+
+        // Held while recomputing, so a debt recorded meanwhile is not overwritten by a stale total
+        houseBalanceRepository.lockIdsByHouseId(houseId);
+        houseBalanceLedger.replaceBalances(houseId, recompute(houseId));
+        return toResponses(houseBalanceRepository.findByHouseIdOrderByUserId(houseId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SettlementTransferResponse> getSettlement(Long houseId, Long userId) {
+        // Validate user belongs to house (multi-tenant)
+        houseService.validateUserPermission(userId, houseId, false);
+
+        return plan(recompute(houseId));
+    }
+
+    @Override
+    @Transactional
+    public List<SettlementTransferResponse> applySettlement(Long houseId, Long userId) {
+        // Validate owner permission
+        houseService.validateUserPermission(userId, houseId, true);
+
+        // Debts are recorded on these rows, so holding them keeps the plan and the settled participants in step
+        houseBalanceRepository.lockIdsByHouseId(houseId);
+        List<SettlementTransferResponse> transfers = plan(recompute(houseId));
+        expenseParticipantRepository.settleByHouseId(houseId);
+        houseBalanceLedger.replaceBalances(houseId, Map.of());
+        return transfers;
+    }
+
+    @Override
+    @Scheduled(
+        initialDelayString = "${balance.consistency-check.interval-ms:3600000}",
+        fixedDelayString = "${balance.consistency-check.interval-ms:3600000}"
+    )
+    public int checkConsistency() {
+        int mismatches = 0;
+        long afterId = 0;
+        List<Long> houseIds;
+        do {
+            houseIds = houseRepository.findIdsAfter(afterId, Limit.of(CHECK_CHUNK_SIZE));
+            for (Long houseId : houseIds) {
+                // One short transaction per house keeps the check from holding locks across houses
+                Boolean consistent = transactionTemplate.execute(status -> checkHouse(houseId));
+                if (!Boolean.TRUE.equals(consistent)) {
+                    mismatches++;
+                }
+                afterId = houseId;
+            }
+        } while (houseIds.size() == CHECK_CHUNK_SIZE);
+        return mismatches;
+    }
+
+    private boolean checkHouse(Long houseId) {
+        Map<Long, Long> expected = recompute(houseId);
+        Map<Long, Long> actual = new HashMap<>();
+        for (HouseBalance balance : houseBalanceRepository.findByHouseIdOrderByUserId(houseId)) {
+            if (balance.getBalanceCents() != 0) {
+                actual.put(balance.getUserId(), balance.getBalanceCents());
+            }
+        }
+        if (expected.equals(actual)) {
+            return true;
+        }
+
+        mismatchCounter.increment();
+        log.warn("Balance ledger of house {} does not match recomputation: expected {}, found {}",
+            houseId, expected, actual);
+        if (repairMismatches) {
+            // The check above ran unlocked; recompute under the lock so concurrent debts are not lost
+            houseBalanceRepository.lockIdsByHouseId(houseId);
+            houseBalanceLedger.replaceBalances(houseId, recompute(houseId));
+        }
+        return false;
+    }
+
+    /**
+     * Net balance per member from OWES participants: owed to them as creator minus owed by them.
+     * Zero balances are left out.
+     */
+    private Map<Long, Long> recompute(Long houseId) {
+        Map<Long, Long> balances = new HashMap<>();
+        for (UserAmount owedTo : expenseParticipantRepository.sumOwedByCreditor(houseId)) {
+            balances.merge(owedTo.getUserId(), owedTo.getAmountCents(), Long::sum);
+        }
+        for (UserAmount owedBy : expenseParticipantRepository.sumOwedByDebtor(houseId)) {
+            balances.merge(owedBy.getUserId(), -owedBy.getAmountCents(), Long::sum);
+        }
+        balances.values().removeIf(balance -> balance == 0);
+        return balances;
+    }
+
+    private static List<SettlementTransferResponse> plan(Map<Long, Long> balances) {
+        long[] userIds = new long[balances.size()];
+        long[] balancesCents = new long[balances.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> balance : new TreeMap<>(balances).entrySet()) {
+            userIds[i] = balance.getKey();
+            balancesCents[i] = balance.getValue();
+            i++;
+        }
+
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(userIds, balancesCents);
+        List<SettlementTransferResponse> transfers = new ArrayList<>(plan.size());
+        for (int t = 0; t < plan.size(); t++) {
+            transfers.add(SettlementTransferResponse.builder()
+                .fromUserId(plan.fromUserIds()[t])
+                .toUserId(plan.toUserIds()[t])
+                .amountCents(plan.amountsCents()[t])
+                .build());
+        }
+        return transfers;
+    }
+
+    private static List<HouseBalanceResponse> toResponses(List<HouseBalance> balances) {
+        return balances.stream()
+            .map(balance -> HouseBalanceResponse.builder()
+                .userId(balance.getUserId())
+                .balanceCents(balance.getBalanceCents())
+                .build())
+            .collect(Collectors.toList());
+    }
+}
@@ -1,7 +1,6 @@
 package com.app.homecash.service.impl;
 
 import com.app.homecash.domain.CreditCard;
-import com.app.homecash.domain.HouseMember;
 import com.app.homecash.domain.Role;
 import com.app.homecash.dto.request.CreateCreditCardRequest;
 import com.app.homecash.dto.response.CreditCardResponse;
@@ -130,9 +129,7 @@ public class CreditCardServiceImpl implements CreditCardService {
      * @return true if user is owner in at least one house, false otherwise
      */
     private boolean isUserOwner(Long userId) {
-        List<HouseMember> houseMembers = houseMemberRepository.findByUserId(userId);
-        return houseMembers.stream()
-            .anyMatch(member -> member.getRole() == Role.OWNER);
+        return houseMemberRepository.existsByUserIdAndRole(userId, Role.OWNER);
     }
 }
 
@@ -0,0 +1,128 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.dto.request.ExportFormat;
+import com.app.homecash.dto.response.ExpenseResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes expenses one row at a time to a buffered stream, so memory use does not depend on the row count.
+ */
+abstract class ExpenseExportWriter {
+
+    protected final Writer out;
+
+    private ExpenseExportWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    static ExpenseExportWriter open(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        ExpenseExportWriter writer = switch (format) {
+            case NDJSON -> new Ndjson(out, objectMapper);
+            case CSV -> new Csv(out);
+        };
+        writer.writeHeader();
+        return writer;
+    }
+
+    abstract void write(ExpenseResponse expense) throws IOException;
+
+    void writeHeader() throws IOException {
+    }
+
+    void finish() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * One JSON object per line.
+     */
+    private static final class Ndjson extends ExpenseExportWriter {
+
+        private final ObjectWriter json;
+
+        Ndjson(OutputStream out, ObjectMapper objectMapper) {
+            super(out);
+            this.json = objectMapper.writerFor(ExpenseResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void write(ExpenseResponse expense) throws IOException {
+            json.writeValue(out, expense);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row.
+     */
+    private static final class Csv extends ExpenseExportWriter {
+
+        private static final String HEADER = "id,houseId,title,category,amountCents,type,createdAt,dueDate,"
+            + "paymentMethod,status,createdBy,creditCardId";
+
+        Csv(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            out.write(HEADER);
+            out.write("\r\n");
+        }
+
+        @Override
+        void write(ExpenseResponse expense) throws IOException {
+            Object[] fields = {
+                expense.getId(), expense.getHouseId(), expense.getTitle(), expense.getCategory(),
+                expense.getAmountCents(), expense.getType(), expense.getCreatedAt(), expense.getDueDate(),
+                expense.getPaymentMethod(), expense.getStatus(), expense.getCreatedBy(), expense.getCreditCardId()
+            };
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                field(fields[i]);
+            }
+            out.write("\r\n");
+        }
+
+        private void field(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (value instanceof String && startsFormula(text)) {
+                // Spreadsheets would evaluate free text such as "=HYPERLINK(...)"; a leading quote keeps it text
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                    || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(text.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(text);
+            }
+        }
+
+        private static boolean startsFormula(String text) {
+            if (text.isEmpty()) {
+                return false;
+            }
+            char first = text.charAt(0);
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.ExpenseRollup;
+import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.repository.ExpenseRollupRepository;
+import com.app.homecash.repository.HouseRollupTotals;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Applies expense writes to the monthly rollups, in the caller's transaction.
+ * Each affected rollup gets one atomic increment, applied in key order so concurrent writers lock rows
+ * in the same order. A missing row is created empty in its own transaction, so two writers racing
+ * to create it both end up incrementing the same row.
+ */
+@Component
+public class ExpenseRollupLedger {
+
+    // Status by name, as it is stored, so this is the order the locking queries sort rows in
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+        .comparing(RollupKey::year)
+        .thenComparing(RollupKey::month)
+        .thenComparing(RollupKey::category)
+        .thenComparing(key -> key.status().name());
+
+    private final ExpenseRollupRepository expenseRollupRepository;
+    private final TransactionTemplate newTransaction;
+
+    public ExpenseRollupLedger(
+            ExpenseRollupRepository expenseRollupRepository,
+            PlatformTransactionManager transactionManager) {
+        this.expenseRollupRepository = expenseRollupRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Capture the rollup an expense currently counts towards, before it is changed.
+     *
+     * @param expense persisted expense
+     * @return snapshot to pass to {@link #moved(Snapshot, Expense)}
+     */
+    public Snapshot snapshot(Expense expense) {
+        return new Snapshot(keyOf(expense), expense.getAmountCents());
+    }
+
+    /**
+     * Count newly created expenses of one house.
+     *
+     * @param houseId house id
+     * @param expenses persisted expenses
+     */
+    public void added(Long houseId, List<Expense> expenses) {
+        Map<RollupKey, long[]> deltas = new TreeMap<>(KEY_ORDER);
+        for (Expense expense : expenses) {
+            addDelta(deltas, keyOf(expense), 1, expense.getAmountCents());
+        }
+        apply(houseId, deltas);
+    }
+
+    /**
+     * Count newly created expenses of many houses at once.
+     * The affected rollups are locked with one query per month and changed in the persistence context,
+     * so they are flushed as JDBC batches instead of one update per rollup; missing ones are created together.
+     * The lock covers every house between the lowest and highest id, so callers should pass houses of a dense id range.
+     *
+     * @param expensesByHouse persisted expenses by house id
+     */
+    public void added(Map<Long, List<Expense>> expensesByHouse) {
+        Map<YearMonth, Map<Long, Map<RollupKey, long[]>>> deltasByMonth = new TreeMap<>();
+        expensesByHouse.forEach((houseId, expenses) -> {
+            for (Expense expense : expenses) {
+                RollupKey key = keyOf(expense);
+                Map<RollupKey, long[]> deltas = deltasByMonth
+                    .computeIfAbsent(YearMonth.of(key.year(), key.month()), m -> new TreeMap<>())
+                    .computeIfAbsent(houseId, h -> new TreeMap<>(KEY_ORDER));
+                addDelta(deltas, key, 1, expense.getAmountCents());
+            }
+        });
+        deltasByMonth.forEach(this::applyLocked);
+    }
+
+    /**
+     * Count a newly created expense.
+     *
+     * @param expense persisted expense
+     */
+    public void added(Expense expense) {
+        added(expense.getHouseId(), List.of(expense));
+    }
+
+    /**
+     * Stop counting deleted expenses of one house.
+     *
+     * @param houseId house id
+     * @param expenses expenses being deleted
+     */
+    public void removed(Long houseId, List<Expense> expenses) {
+        Map<RollupKey, long[]> deltas = new TreeMap<>(KEY_ORDER);
+        for (Expense expense : expenses) {
+            addDelta(deltas, keyOf(expense), -1, -expense.getAmountCents());
+        }
+        apply(houseId, deltas);
+    }
+
+    /**
+     * Move an expense from the rollup it counted towards to the one it counts towards now.
+     *
+     * @param before snapshot taken before the change
+     * @param expense changed expense
+     */
+    public void moved(Snapshot before, Expense expense) {
+        Map<RollupKey, long[]> deltas = new TreeMap<>(KEY_ORDER);
+        addDelta(deltas, before.key(), -1, -before.amountCents());
+        addDelta(deltas, keyOf(expense), 1, expense.getAmountCents());
+        apply(expense.getHouseId(), deltas);
+    }
+
+    /**
+     * Move expenses, possibly of several houses, to a new status.
+     *
+     * @param expenses expenses as they were before the change
+     * @param status their new status
+     */
+    public void statusChanged(List<Expense> expenses, ExpenseStatus status) {
+        Map<Long, Map<RollupKey, long[]>> deltasByHouse = new TreeMap<>();
+        for (Expense expense : expenses) {
+            Map<RollupKey, long[]> deltas = deltasByHouse.computeIfAbsent(expense.getHouseId(), h -> new TreeMap<>(KEY_ORDER));
+            RollupKey from = keyOf(expense);
+            addDelta(deltas, from, -1, -expense.getAmountCents());
+            addDelta(deltas, new RollupKey(from.year(), from.month(), from.category(), status), 1, expense.getAmountCents());
+        }
+        deltasByHouse.forEach(this::apply);
+    }
+
+    /**
+     * Move pre-aggregated expenses, possibly of several houses, to a new status.
+     *
+     * @param totals count and total of the expenses per house and rollup, before the change
+     * @param status their new status
+     */
+    public void movedToStatus(List<HouseRollupTotals> totals, ExpenseStatus status) {
+        Map<Long, Map<RollupKey, long[]>> deltasByHouse = new TreeMap<>();
+        for (HouseRollupTotals total : totals) {
+            Map<RollupKey, long[]> deltas = deltasByHouse.computeIfAbsent(total.getHouseId(), h -> new TreeMap<>(KEY_ORDER));
+            addDelta(deltas, new RollupKey(total.getYear(), total.getMonth(), total.getCategory(), total.getStatus()),
+                -total.getExpenseCount(), -total.getTotalCents());
+            addDelta(deltas, new RollupKey(total.getYear(), total.getMonth(), total.getCategory(), status),
+                total.getExpenseCount(), total.getTotalCents());
+        }
+        deltasByHouse.forEach(this::apply);
+    }
+
+    private static RollupKey keyOf(Expense expense) {
+        return new RollupKey(
+            expense.periodDate().getYear(),
+            expense.periodDate().getMonthValue(),
+            expense.getCategory(),
+            expense.getStatus()
+        );
+    }
+
+    private static void addDelta(Map<RollupKey, long[]> deltas, RollupKey key, long count, long cents) {
+        long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+        delta[0] += count;
+        delta[1] += cents;
+    }
+
+    private void apply(Long houseId, Map<RollupKey, long[]> deltas) {
+        for (Map.Entry<RollupKey, long[]> entry : deltas.entrySet()) {
+            RollupKey key = entry.getKey();
+            long[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0) {
+                continue;
+            }
+            if (increment(houseId, key, delta) == 0) {
+                createEmpty(houseId, key);
+                if (increment(houseId, key, delta) == 0) {
+                    throw new IllegalStateException("Rollup " + key + " could not be created for house " + houseId);
+                }
+            }
+        }
+    }
+
+    private void applyLocked(YearMonth month, Map<Long, Map<RollupKey, long[]>> deltasByHouse) {
+        Map<Long, Map<RollupKey, long[]>> missing = incrementLocked(month, deltasByHouse);
+        if (missing.isEmpty()) {
+            return;
+        }
+        createEmpty(missing);
+        if (!incrementLocked(month, missing).isEmpty()) {
+            throw new IllegalStateException("Rollups of " + month + " could not be created for houses " + missing.keySet());
+        }
+    }
+
+    /**
+     * Lock the month's rollups of the houses and add the deltas to them.
+     *
+     * @return deltas whose rollup does not exist yet
+     */
+    private Map<Long, Map<RollupKey, long[]>> incrementLocked(YearMonth month, Map<Long, Map<RollupKey, long[]>> deltasByHouse) {
+        TreeMap<Long, Map<RollupKey, long[]>> missing = new TreeMap<>();
+        deltasByHouse.forEach((houseId, deltas) -> missing.put(houseId, new HashMap<>(deltas)));
+        List<ExpenseRollup> rollups = expenseRollupRepository.lockByHouseIdBetweenAndPeriod(
+            missing.firstKey(), missing.lastKey(), month.getYear(), month.getMonthValue());
+        for (ExpenseRollup rollup : rollups) {
+            Map<RollupKey, long[]> deltas = missing.get(rollup.getHouseId());
+            if (deltas == null) {
+                // A house of the range with nothing to add
+                continue;
+            }
+            long[] delta = deltas.remove(new RollupKey(
+                rollup.getPeriodYear(), rollup.getPeriodMonth(), rollup.getCategory(), rollup.getStatus()));
+            if (delta != null) {
+                rollup.setExpenseCount(rollup.getExpenseCount() + delta[0]);
+                rollup.setTotalCents(rollup.getTotalCents() + delta[1]);
+            }
+            if (deltas.isEmpty()) {
+                missing.remove(rollup.getHouseId());
+            }
+        }
+        return missing;
+    }
+
+    private int increment(Long houseId, RollupKey key, long[] delta) {
+        return expenseRollupRepository.addToRollup(
+            houseId, key.year(), key.month(), key.category(), key.status(), delta[0], delta[1]);
+    }
+
+    private void createEmpty(Long houseId, RollupKey key) {
+        try {
+            newTransaction.executeWithoutResult(status -> expenseRollupRepository.saveAndFlush(ExpenseRollup.builder()
+                .houseId(houseId)
+                .periodYear(key.year())
+                .periodMonth(key.month())
+                .category(key.category())
+                .status(key.status())
+                .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another writer
+        }
+    }
+
+    private void createEmpty(Map<Long, Map<RollupKey, long[]>> missing) {
+        List<ExpenseRollup> rollups = new ArrayList<>();
+        missing.forEach((houseId, deltas) -> deltas.keySet().forEach(key -> rollups.add(ExpenseRollup.builder()
+            .houseId(houseId)
+            .periodYear(key.year())
+            .periodMonth(key.month())
+            .category(key.category())
+            .status(key.status())
+            .build())));
+        try {
+            newTransaction.executeWithoutResult(status -> expenseRollupRepository.saveAllAndFlush(rollups));
+        } catch (DataIntegrityViolationException e) {
+            // Some were created concurrently by another writer; create the others one by one
+            missing.forEach((houseId, deltas) -> deltas.keySet().forEach(key -> createEmpty(houseId, key)));
+        }
+    }
+
+    /**
+     * Rollup an expense counted towards, and its amount at that time.
+     */
+    record Snapshot(RollupKey key, long amountCents) {
+    }
+
+    record RollupKey(int year, int month, String category, ExpenseStatus status) {
+    }
+}
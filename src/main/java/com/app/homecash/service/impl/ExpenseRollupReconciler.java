@@ -0,0 +1,139 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.ExpenseRollup;
+import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.repository.ExpenseRepository;
+import com.app.homecash.repository.ExpenseRollupRepository;
+import com.app.homecash.repository.HouseRepository;
+import com.app.homecash.repository.RollupTotals;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically recomputes every house's rollups from its expenses and repairs any that drifted.
+ * Each house is reconciled in its own transaction, holding its rollup rows locked while the expenses
+ * are summed, so concurrent expense writes are applied on top of the repaired values instead of lost.
+ * Rows are never deleted here; empty ones are skipped by readers.
+ * Repaired houses are counted in {@code homecash.rollup.repairs}.
+ */
+@Slf4j
+@Component
+public class ExpenseRollupReconciler {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final HouseRepository houseRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseRollupRepository expenseRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairCounter;
+
+    public ExpenseRollupReconciler(
+            HouseRepository houseRepository,
+            ExpenseRepository expenseRepository,
+            ExpenseRollupRepository expenseRollupRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.houseRepository = houseRepository;
+        this.expenseRepository = expenseRepository;
+        this.expenseRollupRepository = expenseRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repairCounter = Counter.builder("homecash.rollup.repairs")
+            .description("Houses whose expense rollups were repaired by the reconciler")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reconcile the rollups of every house.
+     *
+     * @return number of houses whose rollups were repaired
+     */
+    @Scheduled(
+        initialDelayString = "${expense.rollup.reconcile-interval-ms:3600000}",
+        fixedDelayString = "${expense.rollup.reconcile-interval-ms:3600000}"
+    )
+    public int reconcileAll() {
+        int repaired = 0;
+        long afterId = 0;
+        List<Long> houseIds;
+        do {
+            houseIds = houseRepository.findIdsAfter(afterId, Limit.of(CHUNK_SIZE));
+            for (Long houseId : houseIds) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(houseId)))) {
+                    repaired++;
+                }
+                afterId = houseId;
+            }
+        } while (houseIds.size() == CHUNK_SIZE);
+        return repaired;
+    }
+
+    /**
+     * @return true if any rollup of the house had to be repaired
+     */
+    private boolean reconcile(Long houseId) {
+        Map<RollupKey, ExpenseRollup> actual = new HashMap<>();
+        for (ExpenseRollup rollup : expenseRollupRepository.lockByHouseId(houseId)) {
+            actual.put(keyOf(rollup), rollup);
+        }
+
+        List<ExpenseRollup> missing = new ArrayList<>();
+        boolean repaired = false;
+        for (RollupTotals expected : expenseRepository.sumRollupsByHouseId(houseId)) {
+            RollupKey key = new RollupKey(expected.getYear(), expected.getMonth(), expected.getCategory(), expected.getStatus());
+            ExpenseRollup rollup = actual.remove(key);
+            if (rollup == null) {
+                missing.add(ExpenseRollup.builder()
+                    .houseId(houseId)
+                    .periodYear(key.year())
+                    .periodMonth(key.month())
+                    .category(key.category())
+                    .status(key.status())
+                    .expenseCount(expected.getExpenseCount())
+                    .totalCents(expected.getTotalCents())
+                    .build());
+                repaired = true;
+            } else if (!rollup.getExpenseCount().equals(expected.getExpenseCount())
+                    || !rollup.getTotalCents().equals(expected.getTotalCents())) {
+                rollup.setExpenseCount(expected.getExpenseCount());
+                rollup.setTotalCents(expected.getTotalCents());
+                repaired = true;
+            }
+        }
+
+        // Rows left over have no expenses behind them any more. They are zeroed rather than deleted:
+        // a writer may have just created an empty row and is about to increment it
+        for (ExpenseRollup rollup : actual.values()) {
+            if (rollup.getExpenseCount() != 0 || rollup.getTotalCents() != 0) {
+                rollup.setExpenseCount(0L);
+                rollup.setTotalCents(0L);
+                repaired = true;
+            }
+        }
+        expenseRollupRepository.saveAll(missing);
+
+        if (repaired) {
+            repairCounter.increment();
+            log.warn("Repaired expense rollups of house {}", houseId);
+        }
+        return repaired;
+    }
+
+    private static RollupKey keyOf(ExpenseRollup rollup) {
+        return new RollupKey(rollup.getPeriodYear(), rollup.getPeriodMonth(), rollup.getCategory(), rollup.getStatus());
+    }
+
+    private record RollupKey(int year, int month, String category, ExpenseStatus status) {
+    }
+}
@@ -2,25 +2,71 @@ package com.app.homecash.service.impl;
 
 import com.app.homecash.domain.Expense;
 import com.app.homecash.domain.ExpenseParticipant;
+import com.app.homecash.domain.ExpenseRecurrence;
+import com.app.homecash.domain.ExpenseRollup;
+import com.app.homecash.domain.ExpenseSplitter;
 import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.domain.ExpenseType;
 import com.app.homecash.domain.ParticipantStatus;
 import com.app.homecash.domain.PaymentMethod;
+import com.app.homecash.domain.SplitMethod;
 import com.app.homecash.dto.request.CreateExpenseRequest;
+import com.app.homecash.dto.request.CreateRecurrenceRequest;
+import com.app.homecash.dto.request.ExpenseFilter;
+import com.app.homecash.dto.request.ExportFormat;
+import com.app.homecash.dto.request.SplitExpenseRequest;
+import com.app.homecash.dto.request.SplitShareRequest;
 import com.app.homecash.dto.request.UpdateExpenseRequest;
+import com.app.homecash.dto.response.BulkCreateExpenseResponse;
+import com.app.homecash.dto.response.BulkDeleteExpenseResponse;
+import com.app.homecash.dto.response.BulkExpenseResult;
+import com.app.homecash.dto.response.ExpenseParticipantResponse;
+import com.app.homecash.dto.response.ExpenseRecurrenceResponse;
+import com.app.homecash.dto.response.ExpensePageResponse;
 import com.app.homecash.dto.response.ExpenseResponse;
+import com.app.homecash.dto.response.ExpenseRollupResponse;
+import com.app.homecash.dto.response.ExpenseSummaryResponse;
 import com.app.homecash.mapper.ExpenseMapper;
+import com.app.homecash.repository.CreditCardRepository;
 import com.app.homecash.repository.ExpenseParticipantRepository;
+import com.app.homecash.repository.ExpenseRecurrenceRepository;
 import com.app.homecash.repository.ExpenseRepository;
+import com.app.homecash.repository.ExpenseRollupRepository;
+import com.app.homecash.repository.ExpenseSpecifications;
+import com.app.homecash.repository.HouseMemberRepository;
 import com.app.homecash.repository.HouseRepository;
+import com.app.homecash.repository.ParticipantTotals;
 import com.app.homecash.repository.UserRepository;
 import com.app.homecash.service.ExpenseService;
 import com.app.homecash.service.HouseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,10 +74,31 @@ public class ExpenseServiceImpl implements ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final ExpenseParticipantRepository expenseParticipantRepository;
+    private final CreditCardRepository creditCardRepository;
     private final HouseRepository houseRepository;
+    private final HouseMemberRepository houseMemberRepository;
     private final UserRepository userRepository;
     private final HouseService houseService;
+    private final HouseBalanceLedger houseBalanceLedger;
+    private final ExpenseRollupLedger expenseRollupLedger;
+    private final InvoiceAssigner invoiceAssigner;
+    private final ExpenseRollupRepository expenseRollupRepository;
+    private final ExpenseRecurrenceRepository expenseRecurrenceRepository;
     private final ExpenseMapper expenseMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    @Value("${expense.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${expense.bulk.max-size:1000}")
+    private int maxBulkSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
 
     @Override
     @Transactional
@@ -39,15 +106,8 @@ public class ExpenseServiceImpl implements ExpenseService {
         // Validate user belongs to house
         houseService.validateUserPermission(userId, houseId, false);
 
-        // Domain rule: Amount > 0
-        if (request.getAmountCents() <= 0) {
-            throw new IllegalArgumentException("Amount must be greater than 0");
-        }
-
-        // Domain rule: If payment method = CREDIT, must have credit card
-        if (request.getPaymentMethod() == PaymentMethod.CREDIT && request.getCreditCardId() == null) {
-            throw new IllegalArgumentException("Credit card is required when payment method is CREDIT");
-        }
+        validateExpenseRules(request);
+        validateCreditCard(request.getPaymentMethod(), request.getCreditCardId(), userId);
 
         // Validate house exists
         houseRepository.findById(houseId)
@@ -59,20 +119,179 @@ public class ExpenseServiceImpl implements ExpenseService {
         expense.setCreatedBy(userId);
 
         expense = expenseRepository.save(expense);
+        expenseRollupLedger.added(expense);
+        invoiceAssigner.assigned(List.of(expense));
 
         return expenseMapper.toResponse(expense);
     }
 
+    @Override
+    @Transactional
+    public BulkCreateExpenseResponse bulkCreate(Long houseId, List<CreateExpenseRequest> requests, Long userId) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one expense is required");
+        }
+        if (requests.size() > maxBulkSize) {
+            throw new IllegalArgumentException("At most " + maxBulkSize + " expenses can be created at once");
+        }
+
+        // Validate user belongs to house and house exists, once for the whole request
+        houseService.validateUserPermission(userId, houseId, false);
+        if (!houseRepository.existsById(houseId)) {
+            throw new IllegalArgumentException("House not found with id: " + houseId);
+        }
+
+        // Credit cards of the whole request are looked up at once, among the user's own
+        Set<Long> creditCardIds = new HashSet<>(creditCardRepository.findIdsByUserIdAndIdIn(userId, requests.stream()
+            .filter(Objects::nonNull)
+            .map(CreateExpenseRequest::getCreditCardId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet())));
+
+        List<BulkExpenseResult> results = new ArrayList<>(requests.size());
+        List<Expense> batch = new ArrayList<>(batchSize);
+        List<Expense> inserted = new ArrayList<>(requests.size());
+        List<BulkExpenseResult> batchResults = new ArrayList<>(batchSize);
+        int failed = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateExpenseRequest request = requests.get(i);
+            String error = validateRow(request, creditCardIds);
+            if (error != null) {
+                results.add(BulkExpenseResult.builder().index(i).error(error).build());
+                failed++;
+                continue;
+            }
+
+            Expense expense = expenseMapper.toEntity(request);
+            expense.setHouseId(houseId);
+            expense.setCreatedBy(userId);
+            BulkExpenseResult result = BulkExpenseResult.builder().index(i).build();
+            results.add(result);
+            batch.add(expense);
+            inserted.add(expense);
+            batchResults.add(result);
+
+            if (batch.size() == batchSize) {
+                insertBatch(batch, batchResults);
+            }
+        }
+        insertBatch(batch, batchResults);
+        // Joined to their invoices once for the whole request, so each invoice is looked up and incremented once
+        invoiceAssigner.assigned(inserted);
+
+        return BulkCreateExpenseResponse.builder()
+            .created(requests.size() - failed)
+            .failed(failed)
+            .results(results)
+            .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<ExpenseResponse> getByHouse(Long houseId, Long userId) {
+    public ExpensePageResponse getByHouse(Long houseId, ExpenseFilter filter, String cursor, int size, Long userId) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+
         // Validate user belongs to house (multi-tenant)
         houseService.validateUserPermission(userId, houseId, false);
 
-        List<Expense> expenses = expenseRepository.findByHouseId(houseId);
-        return expenses.stream()
-            .map(expenseMapper::toResponse)
-            .collect(Collectors.toList());
+        // Always filter by house (multi-tenant) first, so every filter shape can use a house_id index
+        Specification<Expense> spec = Specification.where(ExpenseSpecifications.inHouse(houseId))
+            .and(ExpenseSpecifications.hasStatus(filter.getStatus()))
+            .and(ExpenseSpecifications.hasCategory(filter.getCategory()))
+            .and(ExpenseSpecifications.hasPaymentMethod(filter.getPaymentMethod()))
+            .and(ExpenseSpecifications.hasType(filter.getType()))
+            .and(ExpenseSpecifications.hasCreditCard(filter.getCreditCardId()))
+            .and(ExpenseSpecifications.dueFrom(filter.getDueDateFrom()))
+            .and(ExpenseSpecifications.dueUntil(filter.getDueDateTo()));
+
+        if (cursor != null && !cursor.isEmpty()) {
+            ExpenseCursor after = ExpenseCursor.decode(cursor);
+            spec = spec.and(ExpenseSpecifications.createdBefore(after.createdAt(), after.id()));
+        }
+
+        // Keyset pagination: fetch one extra row to know whether another page exists
+        int pageSize = Math.min(size, maxPageSize);
+        List<Expense> expenses = expenseRepository.findBy(spec, query -> query
+            .sortBy(KEYSET_ORDER)
+            .limit(pageSize + 1)
+            .all());
+
+        String nextCursor = null;
+        if (expenses.size() > pageSize) {
+            expenses = expenses.subList(0, pageSize);
+            Expense last = expenses.get(pageSize - 1);
+            nextCursor = new ExpenseCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return ExpensePageResponse.builder()
+            .items(expenses.stream()
+                .map(expenseMapper::toResponse)
+                .collect(Collectors.toList()))
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByHouse(Long houseId, ExportFormat format, Long userId, OutputStream out) throws IOException {
+        // Validate user belongs to house (multi-tenant)
+        houseService.validateUserPermission(userId, houseId, false);
+
+        ExpenseExportWriter writer = ExpenseExportWriter.open(format, out, objectMapper);
+        try (Stream<Expense> expenses = expenseRepository.streamByHouseId(houseId)) {
+            Iterator<Expense> rows = expenses.iterator();
+            while (rows.hasNext()) {
+                Expense expense = rows.next();
+                writer.write(expenseMapper.toResponse(expense));
+                // Keep the persistence context empty so memory stays flat
+                entityManager.detach(expense);
+            }
+        }
+        writer.finish();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExpenseSummaryResponse getMonthlySummary(Long houseId, int year, int month, Long userId) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12");
+        }
+
+        // Validate user belongs to house (multi-tenant)
+        houseService.validateUserPermission(userId, houseId, false);
+
+        // At most one row per category and status, found through the rollup key index
+        List<ExpenseRollup> rollups =
+            expenseRollupRepository.findByHouseIdAndPeriodYearAndPeriodMonthOrderByCategoryAscStatusAsc(houseId, year, month);
+
+        long expenseCount = 0;
+        long totalCents = 0;
+        List<ExpenseRollupResponse> items = new ArrayList<>(rollups.size());
+        for (ExpenseRollup rollup : rollups) {
+            if (rollup.getExpenseCount() == 0) {
+                continue;
+            }
+            expenseCount += rollup.getExpenseCount();
+            totalCents += rollup.getTotalCents();
+            items.add(ExpenseRollupResponse.builder()
+                .category(rollup.getCategory())
+                .status(rollup.getStatus())
+                .expenseCount(rollup.getExpenseCount())
+                .totalCents(rollup.getTotalCents())
+                .build());
+        }
+
+        return ExpenseSummaryResponse.builder()
+            .houseId(houseId)
+            .year(year)
+            .month(month)
+            .expenseCount(expenseCount)
+            .totalCents(totalCents)
+            .rollups(items)
+            .build();
     }
 
     @Override
@@ -90,7 +309,9 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Override
     @Transactional
     public ExpenseResponse update(Long expenseId, UpdateExpenseRequest request, Long userId) {
-        Expense expense = expenseRepository.findById(expenseId)
+        // Locked before it is read, so the status and amount its rollup is moved from are current,
+        // and before its invoice, in the order payments lock them
+        Expense expense = expenseRepository.lockById(expenseId)
             .orElseThrow(() -> new IllegalArgumentException("Expense not found with id: " + expenseId));
 
         // Validate user belongs to house
@@ -112,6 +333,18 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
 
         // Update expense fields
+        ExpenseRollupLedger.Snapshot before = expenseRollupLedger.snapshot(expense);
+        // Domain rule: A credit expense follows its card and amount to the matching invoice,
+        // so only the card's owner can change what it is charged
+        boolean invoiceChanged = (expense.getPaymentMethod() == PaymentMethod.CREDIT
+                || request.getPaymentMethod() == PaymentMethod.CREDIT)
+            && (expense.getPaymentMethod() != request.getPaymentMethod()
+                || !Objects.equals(expense.getCreditCardId(), request.getCreditCardId())
+                || !Objects.equals(expense.getAmountCents(), request.getAmountCents()));
+        if (invoiceChanged) {
+            validateCreditCard(request.getPaymentMethod(), request.getCreditCardId(), userId);
+            invoiceAssigner.released(expense);
+        }
         expense.setTitle(request.getTitle());
         expense.setCategory(request.getCategory());
         expense.setAmountCents(request.getAmountCents());
@@ -120,7 +353,17 @@ public class ExpenseServiceImpl implements ExpenseService {
         expense.setPaymentMethod(request.getPaymentMethod());
         expense.setCreditCardId(request.getCreditCardId());
 
+        // Domain rule: An overdue expense whose due date is moved out of the past is open again
+        if (expense.getStatus() == ExpenseStatus.OVERDUE
+                && (expense.getDueDate() == null || !expense.getDueDate().isBefore(LocalDateTime.now()))) {
+            expense.setStatus(ExpenseStatus.OPEN);
+        }
+
         expense = expenseRepository.save(expense);
+        expenseRollupLedger.moved(before, expense);
+        if (invoiceChanged) {
+            invoiceAssigner.assigned(List.of(expense));
+        }
 
         return expenseMapper.toResponse(expense);
     }
@@ -128,7 +371,8 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Override
     @Transactional
     public void delete(Long expenseId, Long userId) {
-        Expense expense = expenseRepository.findById(expenseId)
+        // Locked before it is read, so the rollup it is taken off is the one it is counted in now
+        Expense expense = expenseRepository.lockById(expenseId)
             .orElseThrow(() -> new IllegalArgumentException("Expense not found with id: " + expenseId));
 
         // Validate user belongs to house
@@ -138,47 +382,329 @@ public class ExpenseServiceImpl implements ExpenseService {
         if (expense.getStatus() == ExpenseStatus.PAID) {
             throw new IllegalStateException("Cannot delete expense that is already paid");
         }
+        if (deleteUnpaid(expense.getHouseId(), List.of(expenseId)).isEmpty()) {
+            throw new IllegalStateException("Cannot delete expense on a closed invoice");
+        }
+    }
+
+    @Override
+    @Transactional
+    public BulkDeleteExpenseResponse bulkDelete(Long houseId, List<Long> expenseIds, Long userId) {
+        if (expenseIds == null || expenseIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one expense id is required");
+        }
+        if (expenseIds.size() > maxBulkSize) {
+            throw new IllegalArgumentException("At most " + maxBulkSize + " expenses can be deleted at once");
+        }
+
+        // Validate user belongs to house, once for the whole request
+        houseService.validateUserPermission(userId, houseId, false);
+
+        Set<Long> deleted = new HashSet<>(deleteUnpaid(houseId, new LinkedHashSet<>(expenseIds)));
+        List<Long> skippedIds = expenseIds.stream()
+            .filter(id -> !deleted.contains(id))
+            .distinct()
+            .collect(Collectors.toList());
+
+        return BulkDeleteExpenseResponse.builder()
+            .deleted(deleted.size())
+            .skippedIds(skippedIds)
+            .build();
+    }
+
+    /**
+     * Delete the unpaid expenses of a house among the given ids, with their participants and invoice links;
+     * expenses on a closed or paid invoice are kept.
+     * Each table is cleared with one statement whatever the number of participants;
+     * the participant and expense deletes repeat the PAID guard.
+     * The expenses must not have been read earlier in the transaction without a lock: the lock query
+     * hands back instances already loaded as they are, and their status and amount are taken off the rollups.
+     *
+     * @return ids of the deleted expenses
+     */
+    private List<Long> deleteUnpaid(Long houseId, Collection<Long> expenseIds) {
+        // Locked so that none of them can be paid or changed while its debts and rollups are removed
+        List<Expense> locked = expenseRepository.lockUnpaidByHouseIdAndIdIn(houseId, expenseIds);
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+
+        // Domain rule: Closed and paid invoices no longer change, so their expenses cannot be deleted
+        Set<Long> invoiced = invoiceAssigner.lockClosed(locked.stream()
+            .map(Expense::getId)
+            .collect(Collectors.toList()));
+        List<Expense> expenses = locked.stream()
+            .filter(expense -> !invoiced.contains(expense.getId()))
+            .collect(Collectors.toList());
+        if (expenses.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = expenses.stream().map(Expense::getId).collect(Collectors.toList());
+
+        // Remove what participants still owe from the ledger, then delete everything that refers to the expenses
+        houseBalanceLedger.releaseDebts(houseId, expenseParticipantRepository.sumOwedByExpenseIdIn(ids));
+        expenseRollupLedger.removed(houseId, expenses);
+        invoiceAssigner.unassigned(ids);
+        expenseParticipantRepository.deleteUnpaidByExpenseIdIn(ids);
+        expenseRepository.deleteUnpaidByIdIn(ids);
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public List<ExpenseParticipantResponse> split(Long expenseId, SplitExpenseRequest request, Long userId) {
+        // Locked before its status is read, so it cannot be paid while its debts are replaced
+        Expense expense = expenseRepository.lockById(expenseId)
+            .orElseThrow(() -> new IllegalArgumentException("Expense not found with id: " + expenseId));
+
+        // Validate user belongs to house
+        houseService.validateUserPermission(userId, expense.getHouseId(), false);
+
+        // Domain rule: Paid expenses and settled participants cannot be re-split
+        if (expense.getStatus() == ExpenseStatus.PAID) {
+            throw new IllegalStateException("Cannot split expense that is already paid");
+        }
+        if (expenseParticipantRepository.existsByExpenseIdAndStatus(expenseId, ParticipantStatus.PAID)) {
+            throw new IllegalStateException("Cannot split expense that has paid participants");
+        }
 
-        // Delete participants first
-        List<ExpenseParticipant> participants = expenseParticipantRepository.findByExpenseId(expenseId);
-        expenseParticipantRepository.deleteAll(participants);
+        // Order participants by user id so the same split always assigns leftover cents the same way
+        List<SplitShareRequest> shares = new ArrayList<>(request.getShares());
+        shares.sort(Comparator.comparing(SplitShareRequest::getUserId));
+        int n = shares.size();
+        long[] userIds = new long[n];
+        long[] values = new long[n];
+        for (int i = 0; i < n; i++) {
+            SplitShareRequest share = shares.get(i);
+            userIds[i] = share.getUserId();
+            if (i > 0 && userIds[i] == userIds[i - 1]) {
+                throw new IllegalArgumentException("Duplicate participant: " + userIds[i]);
+            }
+            if (request.getMethod() != SplitMethod.EQUAL) {
+                if (share.getValue() == null) {
+                    throw new IllegalArgumentException("Value is required for " + request.getMethod() + " splits");
+                }
+                values[i] = share.getValue();
+            }
+        }
 
-        // Delete expense
-        expenseRepository.delete(expense);
+        // Domain rule: Participants must be members of the expense's house
+        List<Long> participantIds = Arrays.stream(userIds).boxed().collect(Collectors.toList());
+        if (houseMemberRepository.countByHouseIdAndUserIdIn(expense.getHouseId(), participantIds) != n) {
+            throw new IllegalArgumentException("All participants must be members of the house");
+        }
+
+        // Domain rule: Sum of participants = expense total, guaranteed by the splitter
+        long[] amounts = ExpenseSplitter.split(expense.getAmountCents(), request.getMethod(), values);
+
+        // Replace the previous split; new rows are inserted as one JDBC batch
+        houseBalanceLedger.releaseDebts(expense.getHouseId(), expense.getCreatedBy(),
+            expenseParticipantRepository.findOwedAmountsByExpenseId(expenseId));
+        expenseParticipantRepository.deleteByExpenseIdIn(List.of(expenseId));
+        List<ExpenseParticipant> participants = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            participants.add(ExpenseParticipant.builder()
+                .expenseId(expenseId)
+                .userId(userIds[i])
+                .amountCents(amounts[i])
+                .status(ParticipantStatus.OWES)
+                .build());
+        }
+        participants = expenseParticipantRepository.saveAll(participants);
+        houseBalanceLedger.recordDebts(expense.getHouseId(), expense.getCreatedBy(), userIds, amounts);
+
+        return participants.stream()
+            .map(expenseMapper::toParticipantResponse)
+            .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public ExpenseResponse markAsPaid(Long expenseId, Long userId) {
+        // Locked before it is read, so the rollup it is moved from is the one it is counted in now
+        Expense expense = expenseRepository.lockById(expenseId)
+            .orElseThrow(() -> new IllegalArgumentException("Expense not found with id: " + expenseId));
+
+        // Validate user belongs to house
+        houseService.validateUserPermission(userId, expense.getHouseId(), false);
+
+        // Domain rules are checked by the update itself, so concurrent calls cannot both succeed
+        ExpenseRollupLedger.Snapshot before = expenseRollupLedger.snapshot(expense);
+        if (expenseRepository.markPaidIfBalanced(expenseId) == 0) {
+            throw markAsPaidRejection(expense);
+        }
+        expense.setStatus(ExpenseStatus.PAID);
+        expenseRollupLedger.moved(before, expense);
+
+        // Domain rule: A paid expense settles every participant's share
+        houseBalanceLedger.releaseDebts(expense.getHouseId(), expense.getCreatedBy(),
+            expenseParticipantRepository.findOwedAmountsByExpenseId(expenseId));
+        expenseParticipantRepository.settleByExpenseId(expenseId);
+
+        return expenseMapper.toResponse(expense);
+    }
+
+    @Override
+    @Transactional
+    public ExpenseRecurrenceResponse createRecurrence(Long expenseId, CreateRecurrenceRequest request, Long userId) {
+        Expense expense = expenseRepository.findById(expenseId)
+            .orElseThrow(() -> new IllegalArgumentException("Expense not found with id: " + expenseId));
+
+        // Validate user belongs to house
+        houseService.validateUserPermission(userId, expense.getHouseId(), false);
+
+        // Domain rule: Only FIXED expenses recur, and only once
+        if (expense.getType() != ExpenseType.FIXED) {
+            throw new IllegalStateException("Only FIXED expenses can recur");
+        }
+        if (expense.getRecurrenceId() != null) {
+            throw new IllegalStateException("Expense already recurs");
+        }
+
+        LocalDate anchor = (expense.getDueDate() != null ? expense.getDueDate() : expense.getCreatedAt()).toLocalDate();
+        ExpenseRecurrence recurrence = ExpenseRecurrence.builder()
+            .houseId(expense.getHouseId())
+            .title(expense.getTitle())
+            .category(expense.getCategory())
+            .amountCents(expense.getAmountCents())
+            .paymentMethod(expense.getPaymentMethod())
+            .creditCardId(expense.getCreditCardId())
+            .createdBy(userId)
+            .dayOfMonth(request.getDayOfMonth() != null ? request.getDayOfMonth() : anchor.getDayOfMonth())
+            .endDate(request.getEndDate())
+            .build();
+
+        // This expense is the occurrence of its own month; generation starts with the next one
+        LocalDate first = recurrence.occurrenceIn(YearMonth.from(anchor));
+        if (request.getEndDate() != null && request.getEndDate().isBefore(first)) {
+            throw new IllegalArgumentException("End date must not be before the first occurrence (" + first + ")");
+        }
+        recurrence.setNextOccurrence(first);
+        recurrence.advance();
+        recurrence = expenseRecurrenceRepository.save(recurrence);
+
+        // The expense keeps its own period, so its rollup and invoice stay where they were counted
+        expense.setRecurrenceId(recurrence.getId());
+        expenseRepository.save(expense);
+
+        return expenseMapper.toRecurrenceResponse(recurrence);
+    }
+
+    @Override
+    @Transactional
+    public void stopRecurrence(Long expenseId, Long userId) {
         Expense expense = expenseRepository.findById(expenseId)
             .orElseThrow(() -> new IllegalArgumentException("Expense not found with id: " + expenseId));
 
         // Validate user belongs to house
         houseService.validateUserPermission(userId, expense.getHouseId(), false);
 
+        if (expense.getRecurrenceId() == null) {
+            throw new IllegalArgumentException("Expense does not recur");
+        }
+        expenseRecurrenceRepository.findById(expense.getRecurrenceId())
+            .ifPresent(recurrence -> recurrence.setNextOccurrence(null));
+    }
+
+    /**
+     * Domain rules shared by single and bulk creation.
+     */
+    private static void validateExpenseRules(CreateExpenseRequest request) {
+        // Domain rule: Amount > 0
+        if (request.getAmountCents() <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0");
+        }
+
+        // Domain rule: If payment method = CREDIT, must have credit card
+        if (request.getPaymentMethod() == PaymentMethod.CREDIT && request.getCreditCardId() == null) {
+            throw new IllegalArgumentException("Credit card is required when payment method is CREDIT");
+        }
+    }
+
+    /**
+     * Validate one bulk row against bean constraints and domain rules.
+     *
+     * @return error message, or null if the row is valid
+     */
+    private String validateRow(CreateExpenseRequest request, Set<Long> creditCardIds) {
+        if (request == null) {
+            return "Expense is required";
+        }
+
+        Set<ConstraintViolation<CreateExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+
+        try {
+            validateExpenseRules(request);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+
+        if (request.getPaymentMethod() == PaymentMethod.CREDIT && !creditCardIds.contains(request.getCreditCardId())) {
+            return "Credit card not found with id: " + request.getCreditCardId();
+        }
+        return null;
+    }
+
+    /**
+     * Domain rule: A credit expense must be charged to a credit card of the acting user, whose invoice it joins.
+     */
+    private void validateCreditCard(PaymentMethod paymentMethod, Long creditCardId, Long userId) {
+        if (paymentMethod == PaymentMethod.CREDIT && !creditCardRepository.existsByIdAndUserId(creditCardId, userId)) {
+            throw new IllegalArgumentException("Credit card not found with id: " + creditCardId);
+        }
+    }
+
+    /**
+     * Insert a batch as JDBC batches and release it from the persistence context.
+     */
+    private void insertBatch(List<Expense> batch, List<BulkExpenseResult> batchResults) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        expenseRepository.saveAll(batch);
+        entityManager.flush();
+        // Detach only this batch; entities the caller already manages stay attached
+        batch.forEach(entityManager::detach);
+        expenseRollupLedger.added(batch.get(0).getHouseId(), batch);
+
+        for (int i = 0; i < batch.size(); i++) {
+            batchResults.get(i).setId(batch.get(i).getId());
+        }
+        batch.clear();
+        batchResults.clear();
+    }
+
+    /**
+     * Explain why the conditional update in markAsPaid did not apply.
+     */
+    private IllegalStateException markAsPaidRejection(Expense expense) {
+        if (expense.getStatus() == ExpenseStatus.PAID) {
+            return new IllegalStateException("Expense is already paid");
+        }
+
+        ParticipantTotals totals = expenseParticipantRepository.findTotalsByExpenseId(expense.getId());
+
         // Domain rule: Cannot be marked as paid without participants
-        List<ExpenseParticipant> participants = expenseParticipantRepository.findByExpenseId(expenseId);
-        if (participants.isEmpty()) {
-            throw new IllegalStateException("Cannot mark expense as paid without participants");
+        if (totals.getCount() == 0) {
+            return new IllegalStateException("Cannot mark expense as paid without participants");
         }
 
         // Domain rule: Sum of participants = expense total
-        long totalParticipants = participants.stream()
-            .mapToLong(ExpenseParticipant::getAmountCents)
-            .sum();
-
-        if (totalParticipants != expense.getAmountCents()) {
-            throw new IllegalStateException(
-                "Sum of participants (" + totalParticipants + 
+        if (totals.getSumCents() != expense.getAmountCents()) {
+            return new IllegalStateException(
+                "Sum of participants (" + totals.getSumCents() +
                 ") must equal expense total (" + expense.getAmountCents() + ")"
             );
         }
 
-        // Mark expense as paid
-        expense.setStatus(ExpenseStatus.PAID);
-        expense = expenseRepository.save(expense);
-
-        return expenseMapper.toResponse(expense);
+        // Lost a race with a concurrent payment
+        return new IllegalStateException("Expense is already paid");
     }
 }
-
@@ -0,0 +1,139 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.HouseBalance;
+import com.app.homecash.repository.DebtAmount;
+import com.app.homecash.repository.HouseBalanceRepository;
+import com.app.homecash.repository.UserAmount;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Applies debt changes to the house balance ledger inside the caller's transaction.
+ * Each changed balance is one atomic increment; balances are updated in user id order
+ * so concurrent transactions lock rows in the same order. A missing balance is created at zero in its own
+ * transaction and then incremented, so two first-time writers both end up incrementing the same row.
+ */
+@Component
+public class HouseBalanceLedger {
+
+    private final HouseBalanceRepository houseBalanceRepository;
+    private final TransactionTemplate newTransaction;
+
+    public HouseBalanceLedger(HouseBalanceRepository houseBalanceRepository, PlatformTransactionManager transactionManager) {
+        this.houseBalanceRepository = houseBalanceRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Create a zero balance for a new member, if the member has none yet.
+     *
+     * @param houseId house id
+     * @param userId member user id
+     */
+    public void openAccount(Long houseId, Long userId) {
+        if (!houseBalanceRepository.existsByHouseIdAndUserId(houseId, userId)) {
+            houseBalanceRepository.save(HouseBalance.builder()
+                .houseId(houseId)
+                .userId(userId)
+                .balanceCents(0L)
+                .build());
+        }
+    }
+
+    /**
+     * Record that each debtor now owes the given amount to the creditor.
+     *
+     * @param houseId house id
+     * @param creditorId user owed the money (expense creator)
+     * @param debtorIds participant user ids
+     * @param amounts amount owed by each participant, in the order of {@code debtorIds}
+     */
+    public void recordDebts(Long houseId, Long creditorId, long[] debtorIds, long[] amounts) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (int i = 0; i < debtorIds.length; i++) {
+            addDebt(deltas, creditorId, debtorIds[i], amounts[i]);
+        }
+        apply(houseId, deltas);
+    }
+
+    /**
+     * Remove debts that were settled or deleted.
+     *
+     * @param houseId house id
+     * @param creditorId user owed the money (expense creator)
+     * @param debts amount owed by each participant
+     */
+    public void releaseDebts(Long houseId, Long creditorId, List<UserAmount> debts) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (UserAmount debt : debts) {
+            addDebt(deltas, creditorId, debt.getUserId(), -debt.getAmountCents());
+        }
+        apply(houseId, deltas);
+    }
+
+    /**
+     * Remove debts that were settled or deleted, possibly owed to several creditors.
+     *
+     * @param houseId house id
+     * @param debts amount each debtor owes each creditor
+     */
+    public void releaseDebts(Long houseId, List<? extends DebtAmount> debts) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (DebtAmount debt : debts) {
+            addDebt(deltas, debt.getCreditorId(), debt.getDebtorId(), -debt.getAmountCents());
+        }
+        apply(houseId, deltas);
+    }
+
+    /**
+     * Set every balance of the house to the given values, and to zero for anyone not listed.
+     *
+     * @param houseId house id
+     * @param balances expected balance per user id
+     */
+    public void replaceBalances(Long houseId, Map<Long, Long> balances) {
+        houseBalanceRepository.resetByHouseId(houseId);
+        apply(houseId, new TreeMap<>(balances));
+    }
+
+    private static void addDebt(Map<Long, Long> deltas, Long creditorId, long debtorId, long amountCents) {
+        deltas.merge(creditorId, amountCents, Long::sum);
+        deltas.merge(debtorId, -amountCents, Long::sum);
+    }
+
+    private void apply(Long houseId, Map<Long, Long> deltas) {
+        for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+            long deltaCents = delta.getValue();
+            if (deltaCents == 0) {
+                continue;
+            }
+            if (houseBalanceRepository.addToBalance(houseId, delta.getKey(), deltaCents) == 0) {
+                createEmpty(houseId, delta.getKey());
+                if (houseBalanceRepository.addToBalance(houseId, delta.getKey(), deltaCents) == 0) {
+                    throw new IllegalStateException(
+                        "Balance of user " + delta.getKey() + " could not be created in house " + houseId);
+                }
+            }
+        }
+    }
+
+    private void createEmpty(Long houseId, Long userId) {
+        try {
+            newTransaction.executeWithoutResult(status -> houseBalanceRepository.saveAndFlush(HouseBalance.builder()
+                .houseId(houseId)
+                .userId(userId)
+                .balanceCents(0L)
+                .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another writer
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of house roles keyed by (userId, houseId).
+ * Non-membership is cached too, so entries must be evicted whenever a membership changes;
+ * evictions are deferred until the surrounding transaction commits. A load that read the database before
+ * a commit could otherwise store the old role after that commit's eviction, so every eviction bumps a
+ * generation counter and a load only keeps its result if no eviction happened while it ran.
+ * Hit and miss counts are published as the "house.memberships" cache metrics.
+ */
+@Component
+public class HouseMembershipCache {
+
+    private final Cache<MembershipKey, Optional<Role>> roles;
+    private final AtomicLong generation = new AtomicLong();
+
+    public HouseMembershipCache(
+            @Value("${house.membership-cache.max-size:100000}") long maxSize,
+            @Value("${house.membership-cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.roles = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roles, "house.memberships");
+    }
+
+    /**
+     * Get the user's role in a house, loading it on a miss.
+     *
+     * @param userId user id
+     * @param houseId house id
+     * @param loader loads the role, empty if the user is not a member
+     * @return role, or empty if the user is not a member
+     */
+    public Optional<Role> getRole(Long userId, Long houseId, Supplier<Optional<Role>> loader) {
+        MembershipKey key = new MembershipKey(userId, houseId);
+        Optional<Role> cached = roles.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        Optional<Role> role = loader.get();
+        if (generation.get() == loadedAt) {
+            roles.asMap().putIfAbsent(key, role);
+            // An eviction that started after the check may have run before the put; drop what was stored
+            if (generation.get() != loadedAt) {
+                roles.asMap().remove(key, role);
+            }
+        }
+        return role;
+    }
+
+    /**
+     * Evict one membership once the current transaction commits.
+     *
+     * @param userId user id
+     * @param houseId house id
+     */
+    public void evictAfterCommit(Long userId, Long houseId) {
+        MembershipKey key = new MembershipKey(userId, houseId);
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            roles.invalidate(key);
+        });
+    }
+
+    /**
+     * Evict every membership of a house once the current transaction commits.
+     *
+     * @param houseId house id
+     */
+    public void evictHouseAfterCommit(Long houseId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            roles.asMap().keySet().removeIf(key -> key.houseId().equals(houseId));
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private record MembershipKey(Long userId, Long houseId) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.repository.ExpenseParticipantRepository;
+import com.app.homecash.repository.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes the expenses of deleted houses in the background.
+ * Each chunk of at most {@code house.purge.chunk-size} expenses is removed in its own transaction,
+ * in dependency order: invoice links (taking the expenses off their invoice totals), participants,
+ * then the expenses themselves. Expenses on a closed or paid invoice are kept with their links and participants,
+ * since those invoices no longer change and their totals still bill them.
+ * Expenses of a deleted house are unreachable through the API, so the purge can lag behind the delete;
+ * purges interrupted by a restart are resumed on startup.
+ */
+@Component
+public class HousePurgeWorker {
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
+    private final InvoiceAssigner invoiceAssigner;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final int chunkSize;
+
+    public HousePurgeWorker(
+            ExpenseRepository expenseRepository,
+            ExpenseParticipantRepository expenseParticipantRepository,
+            InvoiceAssigner invoiceAssigner,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("housePurgeExecutor") TaskExecutor executor,
+            @Value("${house.purge.chunk-size:500}") int chunkSize) {
+        this.expenseRepository = expenseRepository;
+        this.expenseParticipantRepository = expenseParticipantRepository;
+        this.invoiceAssigner = invoiceAssigner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Schedule the purge of a house's expenses once the current transaction commits.
+     *
+     * @param houseId id of the deleted house
+     */
+    public void purgeAfterCommit(Long houseId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(houseId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(houseId);
+            }
+        });
+    }
+
+    /**
+     * Resume purges of houses that were deleted before their expenses were fully removed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingPurges() {
+        expenseRepository.findOrphanedHouseIds().forEach(this::schedule);
+    }
+
+    /**
+     * Delete every expense of a house, one chunk per transaction.
+     *
+     * @param houseId id of the deleted house
+     */
+    public void purgeHouse(Long houseId) {
+        Long afterId = 0L;
+        while (afterId != null) {
+            Long from = afterId;
+            afterId = transactionTemplate.execute(status -> purgeChunk(houseId, from));
+        }
+    }
+
+    /**
+     * Purge the chunk of expenses following the given id.
+     *
+     * @return id of the chunk's last expense, or null if no expenses follow it
+     */
+    private Long purgeChunk(Long houseId, Long afterId) {
+        List<Long> expenseIds = expenseRepository.lockIdsByHouseId(houseId, afterId, PageRequest.of(0, chunkSize));
+        if (expenseIds.isEmpty()) {
+            return null;
+        }
+
+        // Domain rule: Closed and paid invoices no longer change, so they keep their expenses
+        Set<Long> invoiced = invoiceAssigner.lockClosed(expenseIds);
+        List<Long> purged = expenseIds.stream()
+            .filter(id -> !invoiced.contains(id))
+            .collect(Collectors.toList());
+        if (!purged.isEmpty()) {
+            invoiceAssigner.unassigned(purged);
+            expenseParticipantRepository.deleteByExpenseIdIn(purged);
+            expenseRepository.deleteByIdIn(purged);
+        }
+        return expenseIds.size() < chunkSize ? null : expenseIds.get(expenseIds.size() - 1);
+    }
+
+    private void schedule(Long houseId) {
+        executor.execute(() -> purgeHouse(houseId));
+    }
+}
@@ -5,29 +5,47 @@ import com.app.homecash.domain.HouseMember;
 import com.app.homecash.domain.Role;
 import com.app.homecash.dto.request.CreateHouseRequest;
 import com.app.homecash.dto.response.CreateHouseResponse;
+import com.app.homecash.dto.response.HousePageResponse;
 import com.app.homecash.dto.response.HouseResponse;
 import com.app.homecash.mapper.HouseMapper;
+import com.app.homecash.repository.ExpenseRecurrenceRepository;
+import com.app.homecash.repository.ExpenseRollupRepository;
+import com.app.homecash.repository.HouseBalanceRepository;
 import com.app.homecash.repository.HouseMemberRepository;
+import com.app.homecash.repository.HouseMembershipView;
 import com.app.homecash.repository.HouseRepository;
 import com.app.homecash.repository.UserRepository;
 import com.app.homecash.service.HouseService;
+import com.app.homecash.service.MembershipClaims;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class HouseServiceImpl implements HouseService {
 
+    private static final int MAX_HOUSES_PAGE_SIZE = 100;
+
     private final HouseRepository houseRepository;
     private final HouseMemberRepository houseMemberRepository;
     private final UserRepository userRepository;
     private final HouseMapper houseMapper;
+    private final HouseMembershipCache houseMembershipCache;
+    private final MembershipClaims membershipClaims;
+    private final InviteCodeGenerator inviteCodeGenerator;
+    private final HousePurgeWorker housePurgeWorker;
+    private final HouseBalanceLedger houseBalanceLedger;
+    private final HouseBalanceRepository houseBalanceRepository;
+    private final ExpenseRollupRepository expenseRollupRepository;
+    private final ExpenseRecurrenceRepository expenseRecurrenceRepository;
 
     @Override
     @Transactional
@@ -44,7 +62,7 @@ public class HouseServiceImpl implements HouseService {
         House house = houseMapper.toEntity(houseRequest);
 
         // Generate unique invite code
-        String inviteCode = generateUniqueInviteCode();
+        String inviteCode = inviteCodeGenerator.nextCode();
         house.setInviteCode(inviteCode);
 
         house = houseRepository.save(house);
@@ -58,6 +76,9 @@ public class HouseServiceImpl implements HouseService {
             .build();
 
         houseMemberRepository.save(owner);
+        houseBalanceLedger.openAccount(house.getId(), userId);
+        userRepository.incrementMembershipVersion(userId);
+        houseMembershipCache.evictAfterCommit(userId, house.getId());
 
         // Map entity to response DTO
         return houseMapper.toCreateResponse(house);
@@ -65,16 +86,21 @@ public class HouseServiceImpl implements HouseService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<HouseResponse> getHousesByUser(Long userId) {
+    public HousePageResponse getHousesByUser(Long userId, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Page must be >= 0 and size must be greater than 0");
+        }
+
         // Always filter by authenticated user (multi-tenant)
-        var houseMembers = houseMemberRepository.findByUserId(userId);
-        
-        return houseMembers.stream()
-            .map(hm -> houseRepository.findById(hm.getHouseId()))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .map(houseMapper::toHouseResponse)
-            .collect(Collectors.toList());
+        // Houses and the user's role come from a single join query
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_HOUSES_PAGE_SIZE));
+        Slice<HouseMembershipView> memberships = houseRepository.findMembershipsByUserId(userId, pageable);
+        return HousePageResponse.builder()
+            .items(memberships.stream()
+                .map(houseMapper::toHouseResponse)
+                .collect(Collectors.toList()))
+            .nextPage(memberships.hasNext() ? page + 1 : null)
+            .build();
     }
 
     @Override
@@ -103,7 +129,7 @@ public class HouseServiceImpl implements HouseService {
             .orElseThrow(() -> new IllegalArgumentException("House not found with id: " + houseId));
 
         // Generate new unique invite code
-        String newInviteCode = generateUniqueInviteCode();
+        String newInviteCode = inviteCodeGenerator.nextCode();
         house.setInviteCode(newInviteCode);
         house = houseRepository.save(house);
 
@@ -113,8 +139,8 @@ public class HouseServiceImpl implements HouseService {
     @Override
     @Transactional
     public HouseResponse joinHouse(String inviteCode, Long userId) {
-        // Find house by invite code
-        House house = houseRepository.findByInviteCode(inviteCode)
+        // Find house by invite code (codes are issued in upper case)
+        House house = houseRepository.findByInviteCode(inviteCode.trim().toUpperCase(Locale.ROOT))
             .orElseThrow(() -> new IllegalArgumentException("Invalid invite code"));
 
         // Validate user exists and is active
@@ -144,6 +170,9 @@ public class HouseServiceImpl implements HouseService {
             .build();
 
         houseMemberRepository.save(member);
+        houseBalanceLedger.openAccount(house.getId(), userId);
+        userRepository.incrementMembershipVersion(userId);
+        houseMembershipCache.evictAfterCommit(userId, house.getId());
 
         return houseMapper.toHouseResponse(house);
     }
@@ -184,6 +213,9 @@ public class HouseServiceImpl implements HouseService {
             .build();
 
         houseMemberRepository.save(member);
+        houseBalanceLedger.openAccount(houseId, memberUserId);
+        userRepository.incrementMembershipVersion(memberUserId);
+        houseMembershipCache.evictAfterCommit(memberUserId, houseId);
     }
 
     @Override
@@ -229,6 +261,8 @@ public class HouseServiceImpl implements HouseService {
         }
 
         houseMemberRepository.delete(member);
+        userRepository.incrementMembershipVersion(memberUserId);
+        houseMembershipCache.evictAfterCommit(memberUserId, houseId);
     }
 
     @Override
@@ -237,50 +271,49 @@ public class HouseServiceImpl implements HouseService {
         // Validate owner permission
         validateUserPermission(userId, houseId, true);
 
-        // Validate house exists
-        House house = houseRepository.findById(houseId)
-            .orElseThrow(() -> new IllegalArgumentException("House not found with id: " + houseId));
+        // Invalidate membership claims of every member before removing them
+        userRepository.incrementMembershipVersionForHouse(houseId);
 
-        // Domain rule: House must always have at least one member
-        // This check ensures we're not deleting a house that violates domain rules
-        long memberCount = houseMemberRepository.countByHouseId(houseId);
-        if (memberCount == 0) {
-            throw new IllegalStateException("House has no members");
+        // Delete members, balances, rollups, recurrences, then the house, with one statement each
+        houseMemberRepository.deleteByHouseId(houseId);
+        houseBalanceRepository.deleteByHouseId(houseId);
+        expenseRollupRepository.deleteByHouseId(houseId);
+        expenseRecurrenceRepository.deleteByHouseId(houseId);
+        if (houseRepository.deleteHouse(houseId) == 0) {
+            throw new IllegalArgumentException("House not found with id: " + houseId);
         }
 
-        // Delete all members first
-        List<HouseMember> members = houseMemberRepository.findByHouseId(houseId);
-        houseMemberRepository.deleteAll(members);
-
-        // Delete house
-        houseRepository.delete(house);
+        // Expenses, participants and invoice links are removed in the background once this commits
+        houseMembershipCache.evictHouseAfterCommit(houseId);
+        housePurgeWorker.purgeAfterCommit(houseId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean userBelongsToHouse(Long userId, Long houseId) {
-        return houseMemberRepository.findByUserIdAndHouseId(userId, houseId).isPresent();
+        return findRole(userId, houseId).isPresent();
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean isUserOwner(Long userId, Long houseId) {
-        Optional<HouseMember> member = houseMemberRepository.findByUserIdAndHouseId(userId, houseId);
-        return member.isPresent() && member.get().getRole() == Role.OWNER;
+        return findRole(userId, houseId).filter(role -> role == Role.OWNER).isPresent();
     }
 
     @Override
     @Transactional(readOnly = true)
     public void validateUserPermission(Long userId, Long houseId, boolean requireOwner) {
+        Optional<Role> role = findRole(userId, houseId);
+
         // Always validate that user belongs to house
-        if (!userBelongsToHouse(userId, houseId)) {
+        if (role.isEmpty()) {
             throw new IllegalStateException(
                 "User does not belong to house with id: " + houseId
             );
         }
 
         // If owner permission is required, validate it
-        if (requireOwner && !isUserOwner(userId, houseId)) {
+        if (requireOwner && role.get() != Role.OWNER) {
             throw new IllegalStateException(
                 "User does not have owner permission for house with id: " + houseId
             );
@@ -288,27 +321,28 @@ public class HouseServiceImpl implements HouseService {
     }
 
     /**
-     * Generate a unique invite code for a house.
-     * Uses UUID and ensures uniqueness in the database.
+     * Resolve the user's role in a house through the membership cache.
      */
-    private String generateUniqueInviteCode() {
-        String inviteCode;
-        boolean isUnique = false;
-        int attempts = 0;
-        final int MAX_ATTEMPTS = 10;
-
-        do {
-            // Generate invite code from UUID (first 8 characters, uppercase)
-            inviteCode = UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
-            isUnique = houseRepository.findByInviteCode(inviteCode).isEmpty();
-            attempts++;
-        } while (!isUnique && attempts < MAX_ATTEMPTS);
-
-        if (!isUnique) {
-            throw new IllegalStateException("Failed to generate unique invite code after " + MAX_ATTEMPTS + " attempts");
+    private Optional<Role> findRole(Long userId, Long houseId) {
+        return houseMembershipCache.getRole(userId, houseId, () -> loadRole(userId, houseId));
+    }
+
+    /**
+     * Load the user's role in a house.
+     * Answers from the memberships claimed by the current request when their version still matches
+     * the user's membership version; otherwise queries house members.
+     */
+    private Optional<Role> loadRole(Long userId, Long houseId) {
+        Optional<MembershipClaims.ClaimedMemberships> claimed = membershipClaims.forUser(userId);
+
+        if (claimed.isPresent()) {
+            Long currentVersion = userRepository.findMembershipVersionById(userId).orElse(null);
+            if (claimed.get().membershipVersion().equals(currentVersion)) {
+                return Optional.ofNullable(claimed.get().houseRoles().get(houseId));
+            }
         }
 
-        return inviteCode;
+        return houseMemberRepository.findByUserIdAndHouseId(userId, houseId)
+            .map(HouseMember::getRole);
     }
 }
-
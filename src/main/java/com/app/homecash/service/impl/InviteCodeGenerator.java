@@ -0,0 +1,193 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.repository.IdSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * Generates house invite codes that are unique by construction.
+ * Each code encrypts a distinct counter value with a keyed Feistel permutation over 50 bits
+ * and encodes the result as 10 Crockford base-32 characters, so distinct counters always give
+ * distinct codes and no lookup is needed before writing. Codes issued before this format were
+ * 8 hexadecimal characters; the different length keeps the two sets apart.
+ * Counter values are reserved in blocks from the "id_sequences" table, one short transaction per block,
+ * taken outside the generator's monitor so callers waiting for a code do not hold database connections.
+ * The key comes from {@code house.invite-code.secret}. Without it a development key is used, which is
+ * refused once any profile other than {@code dev} is active.
+ */
+@Component
+public class InviteCodeGenerator {
+
+    static final String SEQUENCE_NAME = "house_invite_code";
+    static final String DEVELOPMENT_SECRET = "homecash-invite-code-secret-for-development";
+    static final String DEVELOPMENT_PROFILE = "dev";
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int CODE_LENGTH = 10;
+    private static final int BITS_PER_CHAR = 5;
+    private static final int HALF_BITS = 25;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final long COUNTER_LIMIT = 1L << (2 * HALF_BITS);
+    private static final int ROUNDS = 10;
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+
+    private final IdSequenceRepository idSequenceRepository;
+    private final TransactionTemplate newTransaction;
+    private final int blockSize;
+    private final ThreadLocal<Mac> roundFunction;
+
+    private long next;
+    private long limit;
+
+    public InviteCodeGenerator(
+            IdSequenceRepository idSequenceRepository,
+            PlatformTransactionManager transactionManager,
+            Environment environment,
+            @Value("${house.invite-code.secret:" + DEVELOPMENT_SECRET + "}") String secret,
+            @Value("${house.invite-code.block-size:100}") int blockSize) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("house.invite-code.secret must be set");
+        }
+        if (DEVELOPMENT_SECRET.equals(secret) && !isDevelopment(environment)) {
+            throw new IllegalArgumentException("house.invite-code.secret must be set outside the "
+                + DEVELOPMENT_PROFILE + " profile");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than 0");
+        }
+        this.idSequenceRepository = idSequenceRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        // Mac instances are not thread-safe; each thread keys its own
+        this.roundFunction = ThreadLocal.withInitial(() -> newMac(key));
+        this.roundFunction.get();
+    }
+
+    /**
+     * Get the next invite code.
+     *
+     * @return 10-character invite code
+     * @throws IllegalStateException if the code space is exhausted
+     */
+    public String nextCode() {
+        long counter;
+        synchronized (this) {
+            counter = next < limit ? next++ : -1;
+        }
+        if (counter < 0) {
+            long end = allocateBlock();
+            counter = end - blockSize;
+            synchronized (this) {
+                if (next >= limit) {
+                    next = counter + 1;
+                    limit = end;
+                }
+                // Otherwise another caller installed a block first; the rest of this one stays unused
+            }
+        }
+        return encode(permute(counter));
+    }
+
+    /**
+     * Reserve a block of counter values in its own transaction.
+     *
+     * @return exclusive upper bound of the block
+     */
+    private long allocateBlock() {
+        long end = 0;
+        for (int attempt = 1; end == 0; attempt++) {
+            try {
+                end = newTransaction.execute(status -> reserveBlock());
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the sequence row first; reserve from it
+                if (attempt >= MAX_ALLOCATION_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+
+        if (end > COUNTER_LIMIT) {
+            throw new IllegalStateException("Invite code space exhausted");
+        }
+        return end;
+    }
+
+    /**
+     * Reserve the next block and return its exclusive upper bound.
+     */
+    private long reserveBlock() {
+        if (idSequenceRepository.advance(SEQUENCE_NAME, blockSize) == 0) {
+            idSequenceRepository.insert(SEQUENCE_NAME, blockSize);
+            return blockSize;
+        }
+        return idSequenceRepository.findNextValueByName(SEQUENCE_NAME)
+            .orElseThrow(() -> new IllegalStateException("Sequence not found: " + SEQUENCE_NAME));
+    }
+
+    /**
+     * No active profile, as with a plain {@code mvn spring-boot:run}, counts as development.
+     */
+    private static boolean isDevelopment(Environment environment) {
+        String[] profiles = environment.getActiveProfiles();
+        return profiles.length == 0 || Arrays.asList(profiles).contains(DEVELOPMENT_PROFILE);
+    }
+
+    /**
+     * Balanced Feistel network over 50 bits with HMAC-SHA256 round functions; a bijection for any key.
+     */
+    private long permute(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            long mixed = left ^ round(round, right);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private long round(int round, long half) {
+        Mac mac = roundFunction.get();
+        mac.update((byte) round);
+        mac.update((byte) (half >>> 24));
+        mac.update((byte) (half >>> 16));
+        mac.update((byte) (half >>> 8));
+        mac.update((byte) half);
+        byte[] digest = mac.doFinal();
+        long output = ((digest[0] & 0xFFL) << 24) | ((digest[1] & 0xFFL) << 16)
+            | ((digest[2] & 0xFFL) << 8) | (digest[3] & 0xFFL);
+        return output & HALF_MASK;
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static String encode(long value) {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[(int) (value & (ALPHABET.length - 1))];
+            value >>>= BITS_PER_CHAR;
+        }
+        return new String(code);
+    }
+}
@@ -0,0 +1,191 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.CreditCard;
+import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.Invoice;
+import com.app.homecash.domain.InvoiceExpense;
+import com.app.homecash.domain.PaymentMethod;
+import com.app.homecash.repository.CreditCardRepository;
+import com.app.homecash.repository.InvoiceAmount;
+import com.app.homecash.repository.InvoiceExpenseRepository;
+import com.app.homecash.repository.InvoiceRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Links CREDIT expenses to the invoice of their card's billing cycle, in the caller's transaction.
+ * An expense belongs to the invoice of the month its period date (see {@link Expense#periodDate()}) falls in,
+ * up to the card's closing day, or of the following month after it; the invoice total is the sum of its linked expenses.
+ * Each affected invoice gets one atomic increment, applied in (card, year, month) order so concurrent writers
+ * lock rows in the same order. A missing invoice is created empty in its own transaction, so two writers
+ * racing to create it both end up incrementing the same row; an invoice closed in the meantime is skipped
+ * in favour of the next month's.
+ */
+@Component
+public class InvoiceAssigner {
+
+    private static final Comparator<CycleKey> KEY_ORDER = Comparator
+        .comparing(CycleKey::creditCardId)
+        .thenComparing(CycleKey::month);
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceExpenseRepository invoiceExpenseRepository;
+    private final CreditCardRepository creditCardRepository;
+    private final TransactionTemplate newTransaction;
+
+    public InvoiceAssigner(
+            InvoiceRepository invoiceRepository,
+            InvoiceExpenseRepository invoiceExpenseRepository,
+            CreditCardRepository creditCardRepository,
+            PlatformTransactionManager transactionManager) {
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceExpenseRepository = invoiceExpenseRepository;
+        this.creditCardRepository = creditCardRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Link newly created expenses to their invoices; expenses not paid by credit are ignored.
+     * Expenses of a card that no longer exists are left unlinked.
+     *
+     * @param expenses persisted expenses
+     */
+    public void assigned(List<Expense> expenses) {
+        List<Expense> credit = expenses.stream()
+            .filter(expense -> expense.getPaymentMethod() == PaymentMethod.CREDIT && expense.getCreditCardId() != null)
+            .collect(Collectors.toList());
+        if (credit.isEmpty()) {
+            return;
+        }
+
+        Map<Long, CreditCard> cards = creditCardRepository.findAllById(credit.stream()
+                .map(Expense::getCreditCardId)
+                .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(CreditCard::getId, Function.identity()));
+
+        Map<CycleKey, List<Expense>> expensesByCycle = new TreeMap<>(KEY_ORDER);
+        for (Expense expense : credit) {
+            CreditCard card = cards.get(expense.getCreditCardId());
+            if (card == null) {
+                continue;
+            }
+            CycleKey key = new CycleKey(card.getId(), card.invoiceMonthOf(expense.periodDate()));
+            expensesByCycle.computeIfAbsent(key, k -> new ArrayList<>()).add(expense);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InvoiceExpense> links = new ArrayList<>(credit.size());
+        expensesByCycle.forEach((key, cycleExpenses) -> {
+            long cents = cycleExpenses.stream().mapToLong(Expense::getAmountCents).sum();
+            Long invoiceId = addToOpenInvoice(key, cents, now);
+            for (Expense expense : cycleExpenses) {
+                links.add(InvoiceExpense.builder().invoiceId(invoiceId).expenseId(expense.getId()).build());
+            }
+        });
+        invoiceExpenseRepository.saveAll(links);
+    }
+
+    /**
+     * Unlink expenses that are being deleted or changed and take their amounts off their open invoices;
+     * the totals of closed and paid invoices are left as they are.
+     *
+     * @param expenseIds ids of the expenses
+     */
+    public void unassigned(Collection<Long> expenseIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (InvoiceAmount amount : invoiceExpenseRepository.sumAmountsByExpenseIdIn(expenseIds)) {
+            invoiceRepository.addToOpenInvoice(amount.getInvoiceId(), -amount.getAmountCents(), now);
+        }
+        invoiceExpenseRepository.deleteByExpenseIdIn(expenseIds);
+    }
+
+    /**
+     * Take an expense whose payment method, card or amount is about to change off its invoice;
+     * once changed, it is linked again through {@link #assigned(List)}.
+     *
+     * @param expense persisted expense, not yet changed
+     */
+    public void released(Expense expense) {
+        // Domain rule: Closed and paid invoices no longer change
+        if (!lockClosed(List.of(expense.getId())).isEmpty()) {
+            throw new IllegalStateException("Cannot change the card or amount of an expense on a closed invoice");
+        }
+        unassigned(List.of(expense.getId()));
+    }
+
+    /**
+     * Lock the invoices of the given expenses, so none can be closed or paid until the transaction ends,
+     * and find the expenses whose invoice is already closed or paid.
+     *
+     * @param expenseIds ids of the expenses, locked by the caller
+     * @return ids of the expenses on a closed or paid invoice
+     */
+    public Set<Long> lockClosed(Collection<Long> expenseIds) {
+        invoiceRepository.lockIdsByExpenseIdIn(expenseIds);
+        return new HashSet<>(invoiceExpenseRepository.findExpenseIdsOnNotOpenInvoice(expenseIds));
+    }
+
+    /**
+     * Add to the first invoice of the card that is still open, from the cycle's month on.
+     *
+     * @return id of the invoice added to
+     */
+    private Long addToOpenInvoice(CycleKey key, long cents, LocalDateTime now) {
+        YearMonth month = key.month();
+        while (true) {
+            Invoice invoice = findOrCreate(key.creditCardId(), month);
+            if (invoiceRepository.addToOpenInvoice(invoice.getId(), cents, now) == 1) {
+                return invoice.getId();
+            }
+            // Closed since the purchase was made; it goes to the next invoice
+            month = month.plusMonths(1);
+        }
+    }
+
+    private Invoice findOrCreate(Long creditCardId, YearMonth month) {
+        return invoiceRepository.findByCreditCardIdAndMonthAndYear(creditCardId, month.getMonthValue(), month.getYear())
+            .orElseGet(() -> {
+                createEmpty(creditCardId, month);
+                return invoiceRepository.findByCreditCardIdAndMonthAndYear(creditCardId, month.getMonthValue(), month.getYear())
+                    .orElseThrow(() -> new IllegalStateException(
+                        "Invoice of " + month + " could not be created for credit card " + creditCardId));
+            });
+    }
+
+    private void createEmpty(Long creditCardId, YearMonth month) {
+        try {
+            newTransaction.executeWithoutResult(status -> invoiceRepository.saveAndFlush(Invoice.builder()
+                .creditCardId(creditCardId)
+                .month(month.getMonthValue())
+                .year(month.getYear())
+                .totalCents(0L)
+                .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another writer
+        }
+    }
+
+    /**
+     * Billing cycle of a card, identified by the month of its invoice.
+     */
+    record CycleKey(Long creditCardId, YearMonth month) {
+    }
+}
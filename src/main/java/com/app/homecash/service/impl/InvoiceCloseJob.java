@@ -0,0 +1,121 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.repository.InvoiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Closes OPEN invoices once their card's closing day has passed.
+ * Cards with open invoices are split into groups of {@code invoice.close.cards-per-task} consecutive ids;
+ * each group is closed by the bounded invoice close pool with one UPDATE in its own transaction.
+ * Expenses assigned to an invoice that was closed concurrently move on to the next month's invoice,
+ * and closing twice is a no-op, so a failed group is simply retried on the next run.
+ */
+@Slf4j
+@Component
+public class InvoiceCloseJob {
+
+    private final InvoiceRepository invoiceRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final int cardsPerTask;
+    private final Counter closedCounter;
+    private final Counter failedCounter;
+    private final Timer runTimer;
+
+    public InvoiceCloseJob(
+            InvoiceRepository invoiceRepository,
+            @Qualifier("invoiceCloseExecutor") ThreadPoolTaskExecutor executor,
+            PlatformTransactionManager transactionManager,
+            @Value("${invoice.close.cards-per-task:500}") int cardsPerTask,
+            MeterRegistry meterRegistry) {
+        if (cardsPerTask <= 0) {
+            throw new IllegalArgumentException("Cards per task must be greater than 0");
+        }
+        this.invoiceRepository = invoiceRepository;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cardsPerTask = cardsPerTask;
+        this.closedCounter = Counter.builder("homecash.invoice.closed")
+            .description("Invoices moved from OPEN to CLOSED")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("homecash.invoice.close.failed_groups")
+            .description("Card groups whose invoices could not be closed; retried on the next run")
+            .register(meterRegistry);
+        this.runTimer = Timer.builder("homecash.invoice.close.duration")
+            .description("Duration of each invoice close run")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Close every OPEN invoice whose closing day is before today.
+     *
+     * @return number of invoices closed
+     */
+    @Scheduled(cron = "${invoice.close.cron:0 0 1 * * *}")
+    public long run() {
+        return runTimer.record(() -> closeBefore(LocalDate.now()));
+    }
+
+    /**
+     * Close every OPEN invoice whose closing day is before a date.
+     *
+     * @param today first day that is not past the closing day
+     * @return number of invoices closed
+     */
+    public long closeBefore(LocalDate today) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CompletableFuture<Integer>> groups = new ArrayList<>();
+        long afterCardId = 0;
+        List<Long> cardIds;
+        do {
+            cardIds = invoiceRepository.findOpenCardIds(afterCardId, Limit.of(cardsPerTask));
+            if (cardIds.isEmpty()) {
+                break;
+            }
+            Long fromCardId = cardIds.get(0);
+            Long toCardId = cardIds.get(cardIds.size() - 1);
+            groups.add(executor.submitCompletable(() -> closeGroup(fromCardId, toCardId, today, now)));
+            afterCardId = toCardId;
+        } while (cardIds.size() == cardsPerTask);
+
+        long closed = 0;
+        for (CompletableFuture<Integer> group : groups) {
+            closed += group.join();
+        }
+        if (closed > 0) {
+            log.info("Closed {} invoices for {} card groups", closed, groups.size());
+        }
+        return closed;
+    }
+
+    private int closeGroup(Long fromCardId, Long toCardId, LocalDate today, LocalDateTime now) {
+        try {
+            Integer closed = transactionTemplate.execute(status -> invoiceRepository.closeDue(
+                fromCardId, toCardId, today.getYear(), today.getMonthValue(), today.getDayOfMonth(), now));
+            closedCounter.increment(closed);
+            return closed;
+        } catch (RuntimeException e) {
+            // Nothing of the group was committed; its invoices are still due on the next run
+            failedCounter.increment();
+            log.warn("Could not close invoices for cards {} to {}", fromCardId, toCardId, e);
+            return 0;
+        }
+    }
+}
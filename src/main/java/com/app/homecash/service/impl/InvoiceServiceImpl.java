@@ -1,16 +1,25 @@
 package com.app.homecash.service.impl;
 
 import com.app.homecash.domain.*;
+import com.app.homecash.dto.response.InvoicePageResponse;
 import com.app.homecash.dto.response.InvoiceResponse;
 import com.app.homecash.mapper.InvoiceMapper;
 import com.app.homecash.repository.*;
 import com.app.homecash.service.CreditCardService;
 import com.app.homecash.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,24 +31,57 @@ public class InvoiceServiceImpl implements InvoiceService {
     private final ExpenseRepository expenseRepository;
     private final CreditCardRepository creditCardRepository;
     private final CreditCardService creditCardService;
+    private final ExpenseRollupLedger expenseRollupLedger;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
+    private final HouseBalanceLedger houseBalanceLedger;
     private final InvoiceMapper invoiceMapper;
 
+    private static final long[] NO_EXPENSES = new long[0];
+
+    @Value("${invoice.page.max-size:36}")
+    private int maxPageSize;
+
     @Override
     @Transactional(readOnly = true)
-    public List<InvoiceResponse> getByCreditCard(Long cardId, Long userId) {
+    public InvoicePageResponse getByCreditCard(Long cardId, String cursor, int size, Long userId) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+
         // Validate user owns the credit card (multi-tenant)
         creditCardService.getById(cardId, userId);
 
-        List<Invoice> invoices = invoiceRepository.findByCreditCardId(cardId);
-        return invoices.stream()
-            .map(invoice -> {
-                List<Long> expenseIds = invoiceExpenseRepository.findByInvoiceId(invoice.getId())
-                    .stream()
-                    .map(InvoiceExpense::getExpenseId)
-                    .collect(Collectors.toList());
-                return invoiceMapper.toResponse(invoice, expenseIds);
-            })
-            .collect(Collectors.toList());
+        // Keyset pagination on (year, month): fetch one extra row to know whether another page exists
+        int pageSize = Math.min(size, maxPageSize);
+        List<Invoice> invoices;
+        if (cursor == null || cursor.isEmpty()) {
+            invoices = invoiceRepository.findByCreditCardIdOrderByYearDescMonthDesc(cardId, Limit.of(pageSize + 1));
+        } else {
+            YearMonth before = decodeCursor(cursor);
+            invoices = invoiceRepository.findByCreditCardIdBefore(
+                cardId, before.getYear(), before.getMonthValue(), Limit.of(pageSize + 1));
+        }
+
+        String nextCursor = null;
+        if (invoices.size() > pageSize) {
+            invoices = invoices.subList(0, pageSize);
+            Invoice last = invoices.get(pageSize - 1);
+            nextCursor = YearMonth.of(last.getYear(), last.getMonth()).toString();
+        }
+
+        // One query for the expense links of the whole page
+        Map<Long, long[]> expenseIdsByInvoice = invoices.isEmpty()
+            ? Map.of()
+            : groupByInvoice(invoiceExpenseRepository.findLinksByInvoiceIdIn(
+                invoices.stream().map(Invoice::getId).collect(Collectors.toList())));
+
+        return InvoicePageResponse.builder()
+            .items(invoices.stream()
+                .map(invoice -> invoiceMapper.toResponse(
+                    invoice, expenseIdsByInvoice.getOrDefault(invoice.getId(), NO_EXPENSES)))
+                .collect(Collectors.toList()))
+            .nextCursor(nextCursor)
+            .build();
     }
 
     @Override
@@ -51,10 +93,10 @@ public class InvoiceServiceImpl implements InvoiceService {
         // Validate user owns the credit card
         creditCardService.getById(invoice.getCreditCardId(), userId);
 
-        List<Long> expenseIds = invoiceExpenseRepository.findByInvoiceId(invoiceId)
+        long[] expenseIds = invoiceExpenseRepository.findExpenseIdsByInvoiceId(invoiceId)
             .stream()
-            .map(InvoiceExpense::getExpenseId)
-            .collect(Collectors.toList());
+            .mapToLong(Long::longValue)
+            .toArray();
 
         return invoiceMapper.toResponse(invoice, expenseIds);
     }
@@ -73,40 +115,80 @@ public class InvoiceServiceImpl implements InvoiceService {
             throw new IllegalStateException("Invoice is already paid");
         }
 
-        // Domain rule: Paying invoice marks all linked expenses as paid
-        List<InvoiceExpense> invoiceExpenses = invoiceExpenseRepository.findByInvoiceId(invoiceId);
-        
-        if (invoiceExpenses.isEmpty()) {
+        // Domain rule: Paying invoice marks all linked expenses as paid, so check them all with one query
+        InvoiceLinkTotals links = invoiceExpenseRepository.findTotalsByInvoiceId(invoiceId);
+        if (links.getLinkCount() == 0) {
             throw new IllegalStateException("Invoice has no expenses to mark as paid");
         }
+        if (links.getExpenseCount() < links.getLinkCount()) {
+            throw new IllegalArgumentException("Invoice links expenses that no longer exist");
+        }
 
-        for (InvoiceExpense invoiceExpense : invoiceExpenses) {
-            Expense expense = expenseRepository.findById(invoiceExpense.getExpenseId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                    "Expense not found with id: " + invoiceExpense.getExpenseId()
-                ));
-
-            // Domain rule: Only credit expenses can belong to an invoice
-            if (expense.getPaymentMethod() != PaymentMethod.CREDIT) {
-                throw new IllegalStateException(
-                    "Only credit expenses can belong to an invoice. Expense id: " + expense.getId()
-                );
-            }
+        // Domain rule: Only credit expenses can belong to an invoice
+        if (links.getNonCreditCount() > 0) {
+            throw new IllegalStateException("Only credit expenses can belong to an invoice");
+        }
 
-            // Mark expense as paid
-            expense.setStatus(ExpenseStatus.PAID);
-            expenseRepository.save(expense);
+        // Lock the linked expenses before the invoice, in the order deletes and updates lock them;
+        // a concurrent payment waits on the expenses and then finds the invoice paid
+        expenseRepository.lockUnpaidIdsByInvoiceId(invoiceId);
+        LocalDateTime now = LocalDateTime.now();
+        if (invoiceRepository.markPaidIfUnpaid(invoiceId, now) == 0) {
+            throw new IllegalStateException("Invoice is already paid");
         }
 
-        // Mark invoice as paid
-        invoice.setStatus(InvoiceStatus.PAID);
-        invoice = invoiceRepository.save(invoice);
+        // Mark every unpaid linked expense as paid with one update, moving their rollups with them
+        List<HouseRollupTotals> unpaid = expenseRepository.sumUnpaidRollupsByInvoiceId(invoiceId);
+        expenseRepository.markPaidByInvoiceId(invoiceId);
+        expenseRollupLedger.movedToStatus(unpaid, ExpenseStatus.PAID);
 
-        List<Long> expenseIds = invoiceExpenses.stream()
-            .map(InvoiceExpense::getExpenseId)
-            .collect(Collectors.toList());
+        // Domain rule: A paid expense settles every participant's share, as when paid on its own
+        Map<Long, List<HouseDebtAmount>> debtsByHouse = expenseParticipantRepository.sumOwedByInvoiceId(invoiceId)
+            .stream()
+            .collect(Collectors.groupingBy(HouseDebtAmount::getHouseId, TreeMap::new, Collectors.toList()));
+        debtsByHouse.forEach(houseBalanceLedger::releaseDebts);
+        expenseParticipantRepository.settleByInvoiceId(invoiceId);
+
+        invoice.setStatus(InvoiceStatus.PAID);
+        invoice.setUpdatedAt(now);
+        long[] expenseIds = invoiceExpenseRepository.findExpenseIdsByInvoiceId(invoiceId)
+            .stream()
+            .mapToLong(Long::longValue)
+            .toArray();
 
         return invoiceMapper.toResponse(invoice, expenseIds);
     }
+
+    /**
+     * Cursors are the (year, month) of the last invoice of the previous page, as "2026-10".
+     */
+    private static YearMonth decodeCursor(String cursor) {
+        try {
+            return YearMonth.parse(cursor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Collect links ordered by invoice id into the expense ids of each invoice.
+     */
+    private static Map<Long, long[]> groupByInvoice(List<InvoiceLink> links) {
+        Map<Long, long[]> expenseIdsByInvoice = new HashMap<>();
+        int start = 0;
+        for (int i = 1; i <= links.size(); i++) {
+            Long invoiceId = links.get(start).getInvoiceId();
+            if (i < links.size() && links.get(i).getInvoiceId().equals(invoiceId)) {
+                continue;
+            }
+            long[] expenseIds = new long[i - start];
+            for (int j = start; j < i; j++) {
+                expenseIds[j - start] = links.get(j).getExpenseId();
+            }
+            expenseIdsByInvoice.put(invoiceId, expenseIds);
+            start = i;
+        }
+        return expenseIdsByInvoice;
+    }
 }
 
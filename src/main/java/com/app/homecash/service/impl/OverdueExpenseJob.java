@@ -0,0 +1,118 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.repository.ExpenseRepository;
+import com.app.homecash.repository.OverdueCandidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Moves OPEN expenses whose due date has passed to OVERDUE.
+ * Candidates are read from the (status, due_date) index in keyset pages of {@code expense.overdue.chunk-size},
+ * ordered by (due date, id); each page is locked, rolled up and updated with one UPDATE in its own short
+ * transaction, so lock time and transaction size stay bounded however many expenses are open, and a run
+ * only reads expenses that are actually past due, however sparse they are among all ids.
+ * Every run publishes the rows it touched, its duration, and its lag: how long the oldest candidate had been
+ * past due when the run started.
+ */
+@Slf4j
+@Component
+public class OverdueExpenseJob {
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseRollupLedger expenseRollupLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter rowsCounter;
+    private final Timer runTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong lastRunRows = new AtomicLong();
+
+    public OverdueExpenseJob(
+            ExpenseRepository expenseRepository,
+            ExpenseRollupLedger expenseRollupLedger,
+            PlatformTransactionManager transactionManager,
+            @Value("${expense.overdue.chunk-size:1000}") int chunkSize,
+            MeterRegistry meterRegistry) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Overdue chunk size must be greater than 0");
+        }
+        this.expenseRepository = expenseRepository;
+        this.expenseRollupLedger = expenseRollupLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.rowsCounter = Counter.builder("homecash.overdue.rows")
+            .description("Expenses moved from OPEN to OVERDUE")
+            .register(meterRegistry);
+        this.runTimer = Timer.builder("homecash.overdue.duration")
+            .description("Duration of each overdue transition run")
+            .register(meterRegistry);
+        meterRegistry.gauge("homecash.overdue.lag.seconds", lagSeconds);
+        meterRegistry.gauge("homecash.overdue.last_run.rows", lastRunRows);
+    }
+
+    /**
+     * Transition every OPEN expense that is past due.
+     *
+     * @return number of expenses moved to OVERDUE
+     */
+    @Scheduled(
+        initialDelayString = "${expense.overdue.interval-ms:300000}",
+        fixedDelayString = "${expense.overdue.interval-ms:300000}"
+    )
+    public long run() {
+        return runTimer.record(() -> transitionAll(LocalDateTime.now()));
+    }
+
+    private long transitionAll(LocalDateTime now) {
+        List<OverdueCandidate> candidates = expenseRepository.findOverdueCandidates(now, Limit.of(chunkSize));
+        // The first candidate is the one that has been past due the longest
+        lagSeconds.set(candidates.isEmpty() ? 0 : Duration.between(candidates.get(0).getDueDate(), now).toSeconds());
+
+        long touched = 0;
+        while (!candidates.isEmpty()) {
+            List<Long> ids = candidates.stream().map(OverdueCandidate::getId).collect(Collectors.toList());
+            Integer rows = transactionTemplate.execute(status -> transitionChunk(ids, now));
+            touched += rows;
+            rowsCounter.increment(rows);
+            if (candidates.size() < chunkSize) {
+                break;
+            }
+            OverdueCandidate last = candidates.get(candidates.size() - 1);
+            candidates = expenseRepository.findOverdueCandidatesAfter(
+                now, last.getDueDate(), last.getId(), Limit.of(chunkSize));
+        }
+
+        lastRunRows.set(touched);
+        if (touched > 0) {
+            log.info("Moved {} expenses to OVERDUE", touched);
+        }
+        return touched;
+    }
+
+    private int transitionChunk(List<Long> ids, LocalDateTime now) {
+        // Locked rows cannot be paid or edited concurrently, so the rollups move exactly what is updated;
+        // candidates paid or moved since they were read are skipped
+        List<Expense> expenses = expenseRepository.lockOverdueByIdIn(ids, now);
+        if (expenses.isEmpty()) {
+            return 0;
+        }
+        expenseRollupLedger.statusChanged(expenses, ExpenseStatus.OVERDUE);
+        return expenseRepository.markOverdue(expenses.stream().map(Expense::getId).collect(Collectors.toList()));
+    }
+}
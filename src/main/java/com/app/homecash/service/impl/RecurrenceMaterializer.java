@@ -0,0 +1,209 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.ExpenseRecurrence;
+import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.domain.ExpenseType;
+import com.app.homecash.repository.ExpenseRecurrenceRepository;
+import com.app.homecash.repository.ExpenseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Generates the upcoming occurrences of recurring expenses for every house.
+ * Houses with due recurrences are split into groups of {@code expense.recurrence.houses-per-task} consecutive ids;
+ * each group is materialized by the bounded recurrence pool in its own transaction, with its recurrences
+ * locked and its occurrences inserted as JDBC batches. An occurrence and the advance of its recurrence
+ * commit together, and (recurrenceId, occurrenceDate) is unique, so reruns never duplicate occurrences.
+ * A group that fails, for instance on an occurrence that already exists, is retried one house per transaction,
+ * so a bad recurrence only holds back the occurrences of its own house.
+ */
+@Slf4j
+@Component
+public class RecurrenceMaterializer {
+
+    private final ExpenseRecurrenceRepository expenseRecurrenceRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseRollupLedger expenseRollupLedger;
+    private final InvoiceAssigner invoiceAssigner;
+    private final EntityManager entityManager;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final int housesPerTask;
+    private final int horizonDays;
+    private final Counter createdCounter;
+    private final Counter failedCounter;
+    private final Timer runTimer;
+
+    public RecurrenceMaterializer(
+            ExpenseRecurrenceRepository expenseRecurrenceRepository,
+            ExpenseRepository expenseRepository,
+            ExpenseRollupLedger expenseRollupLedger,
+            InvoiceAssigner invoiceAssigner,
+            EntityManager entityManager,
+            @Qualifier("recurrenceExecutor") ThreadPoolTaskExecutor executor,
+            PlatformTransactionManager transactionManager,
+            @Value("${expense.recurrence.houses-per-task:200}") int housesPerTask,
+            @Value("${expense.recurrence.horizon-days:7}") int horizonDays,
+            MeterRegistry meterRegistry) {
+        if (housesPerTask <= 0 || horizonDays < 0) {
+            throw new IllegalArgumentException("Houses per task must be greater than 0 and horizon must not be negative");
+        }
+        this.expenseRecurrenceRepository = expenseRecurrenceRepository;
+        this.expenseRepository = expenseRepository;
+        this.expenseRollupLedger = expenseRollupLedger;
+        this.invoiceAssigner = invoiceAssigner;
+        this.entityManager = entityManager;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.housesPerTask = housesPerTask;
+        this.horizonDays = horizonDays;
+        this.createdCounter = Counter.builder("homecash.recurrence.created")
+            .description("Expense occurrences generated from recurrences")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("homecash.recurrence.failed_houses")
+            .description("Houses whose occurrences could not be generated; retried on the next run")
+            .register(meterRegistry);
+        this.runTimer = Timer.builder("homecash.recurrence.duration")
+            .description("Duration of each recurrence materializer run")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Generate every occurrence due within the horizon.
+     *
+     * @return number of expenses generated
+     */
+    @Scheduled(cron = "${expense.recurrence.cron:0 0 3 * * *}")
+    public long run() {
+        return runTimer.record(() -> materializeUntil(LocalDate.now().plusDays(horizonDays)));
+    }
+
+    /**
+     * Generate every occurrence due on or before a date.
+     *
+     * @param until last occurrence date to generate
+     * @return number of expenses generated
+     */
+    public long materializeUntil(LocalDate until) {
+        List<CompletableFuture<Integer>> groups = new ArrayList<>();
+        long afterHouseId = 0;
+        List<Long> houseIds;
+        do {
+            houseIds = expenseRecurrenceRepository.findDueHouseIds(afterHouseId, until, Limit.of(housesPerTask));
+            if (houseIds.isEmpty()) {
+                break;
+            }
+            List<Long> group = houseIds;
+            groups.add(executor.submitCompletable(() -> materializeGroup(group, until)));
+            afterHouseId = houseIds.get(houseIds.size() - 1);
+        } while (houseIds.size() == housesPerTask);
+
+        long created = 0;
+        for (CompletableFuture<Integer> group : groups) {
+            created += group.join();
+        }
+        if (created > 0) {
+            log.info("Generated {} recurring expenses for {} house groups", created, groups.size());
+        }
+        return created;
+    }
+
+    private int materializeGroup(List<Long> houseIds, LocalDate until) {
+        if (houseIds.size() == 1) {
+            return materializeHouse(houseIds.get(0), until);
+        }
+        Long fromHouseId = houseIds.get(0);
+        Long toHouseId = houseIds.get(houseIds.size() - 1);
+        try {
+            Integer created = transactionTemplate.execute(status -> generate(fromHouseId, toHouseId, until));
+            createdCounter.increment(created);
+            return created;
+        } catch (RuntimeException e) {
+            // Nothing of the group was committed; retry house by house so one bad recurrence does not hold back the rest
+            log.warn("Could not generate recurring expenses for houses {} to {}; retrying each house",
+                fromHouseId, toHouseId, e);
+            int created = 0;
+            for (Long houseId : houseIds) {
+                created += materializeHouse(houseId, until);
+            }
+            return created;
+        }
+    }
+
+    private int materializeHouse(Long houseId, LocalDate until) {
+        try {
+            Integer created = transactionTemplate.execute(status -> generate(houseId, houseId, until));
+            createdCounter.increment(created);
+            return created;
+        } catch (RuntimeException e) {
+            // Nothing of the house was committed; its recurrences are still due on the next run
+            failedCounter.increment();
+            log.warn("Could not generate recurring expenses for house {}", houseId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Generate the due occurrences of every house with an id in the range.
+     */
+    private int generate(Long fromHouseId, Long toHouseId, LocalDate until) {
+        Map<Long, List<Expense>> occurrencesByHouse = new LinkedHashMap<>();
+        List<Expense> occurrences = new ArrayList<>();
+        List<ExpenseRecurrence> recurrences = expenseRecurrenceRepository.lockDueByHouseIdBetween(
+            fromHouseId, toHouseId, until);
+        for (ExpenseRecurrence recurrence : recurrences) {
+            // Catch up on every missed month, not only the latest one
+            while (recurrence.getNextOccurrence() != null && !recurrence.getNextOccurrence().isAfter(until)) {
+                Expense occurrence = toOccurrence(recurrence);
+                occurrences.add(occurrence);
+                occurrencesByHouse.computeIfAbsent(recurrence.getHouseId(), h -> new ArrayList<>()).add(occurrence);
+                recurrence.advance();
+            }
+        }
+
+        // Inserted as JDBC batches; the advanced recurrences are flushed with them
+        expenseRepository.saveAll(occurrences);
+        entityManager.flush();
+        // Only the group's rollups stay managed, so the commit flush does not dirty-check the occurrences
+        entityManager.clear();
+        expenseRollupLedger.added(occurrencesByHouse);
+        invoiceAssigner.assigned(occurrences);
+        return occurrences.size();
+    }
+
+    private static Expense toOccurrence(ExpenseRecurrence recurrence) {
+        return Expense.builder()
+            .houseId(recurrence.getHouseId())
+            .title(recurrence.getTitle())
+            .category(recurrence.getCategory())
+            .amountCents(recurrence.getAmountCents())
+            .type(ExpenseType.FIXED)
+            .dueDate(recurrence.getNextOccurrence().atStartOfDay())
+            .paymentMethod(recurrence.getPaymentMethod())
+            .creditCardId(recurrence.getCreditCardId())
+            .status(ExpenseStatus.OPEN)
+            .createdBy(recurrence.getCreatedBy())
+            .recurrenceId(recurrence.getId())
+            .occurrenceDate(recurrence.getNextOccurrence())
+            .build();
+    }
+}
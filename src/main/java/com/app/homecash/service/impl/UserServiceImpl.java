@@ -1,6 +1,5 @@
 package com.app.homecash.service.impl;
 
-import com.app.homecash.domain.Role;
 import com.app.homecash.domain.User;
 import com.app.homecash.dto.request.CreateUserRequest;
 import com.app.homecash.dto.response.CreateUserResponse;
@@ -103,24 +102,7 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     public boolean canUserBeRemoved(Long userId) {
         // Domain rule: Cannot be removed if it is the only owner of a house
-        // Check if user is the only owner in any house
-        var userHouses = houseMemberRepository.findByUserId(userId);
-        
-        for (var houseMember : userHouses) {
-            if (houseMember.getRole() == Role.OWNER) {
-                long ownerCount = houseMemberRepository.countByHouseIdAndRole(
-                    houseMember.getHouseId(), 
-                    Role.OWNER
-                );
-                
-                // If user is the only owner of this house, they cannot be removed
-                if (ownerCount == 1) {
-                    return false;
-                }
-            }
-        }
-        
-        return true;
+        return houseMemberRepository.findHouseIdsSolelyOwnedBy(userId).isEmpty();
     }
 }
 
@@ -0,0 +1,49 @@
+package com.app.homecash.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreditCardTest {
+
+    @Test
+    void purchaseUpToTheClosingDayBelongsToItsMonth() {
+        CreditCard card = card(10);
+
+        assertThat(card.invoiceMonthOf(LocalDate.of(2026, 3, 1))).isEqualTo(YearMonth.of(2026, 3));
+        assertThat(card.invoiceMonthOf(LocalDate.of(2026, 3, 10))).isEqualTo(YearMonth.of(2026, 3));
+        assertThat(card.invoiceMonthOf(LocalDate.of(2026, 3, 11))).isEqualTo(YearMonth.of(2026, 4));
+    }
+
+    @Test
+    void purchaseAfterDecemberClosingBelongsToNextYear() {
+        assertThat(card(20).invoiceMonthOf(LocalDate.of(2026, 12, 21))).isEqualTo(YearMonth.of(2027, 1));
+    }
+
+    @Test
+    void closingDayPastTheMonthEndClosesOnItsLastDay() {
+        CreditCard card = card(31);
+
+        assertThat(card.invoiceMonthOf(LocalDate.of(2026, 2, 28))).isEqualTo(YearMonth.of(2026, 2));
+        assertThat(card.invoiceMonthOf(LocalDate.of(2028, 2, 29))).isEqualTo(YearMonth.of(2028, 2));
+        assertThat(card.invoiceMonthOf(LocalDate.of(2026, 4, 30))).isEqualTo(YearMonth.of(2026, 4));
+        assertThat(card.invoiceMonthOf(LocalDate.of(2026, 3, 1))).isEqualTo(YearMonth.of(2026, 3));
+    }
+
+    @Test
+    void closingDayInsideAShortMonthStillSplitsIt() {
+        CreditCard card = card(29);
+
+        // 2026 is not a leap year: February closes on the 28th
+        assertThat(card.invoiceMonthOf(LocalDate.of(2026, 2, 28))).isEqualTo(YearMonth.of(2026, 2));
+        assertThat(card.invoiceMonthOf(LocalDate.of(2028, 2, 29))).isEqualTo(YearMonth.of(2028, 2));
+        assertThat(card.invoiceMonthOf(LocalDate.of(2026, 3, 30))).isEqualTo(YearMonth.of(2026, 4));
+    }
+
+    private static CreditCard card(int closingDay) {
+        return CreditCard.builder().closingDay(closingDay).dueDay(5).build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.homecash.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpenseRecurrenceTest {
+
+    @Test
+    void occurrenceIsClampedToTheMonthEnd() {
+        ExpenseRecurrence recurrence = recurrence(31, null);
+
+        assertThat(recurrence.occurrenceIn(YearMonth.of(2026, 2))).isEqualTo(LocalDate.of(2026, 2, 28));
+        assertThat(recurrence.occurrenceIn(YearMonth.of(2028, 2))).isEqualTo(LocalDate.of(2028, 2, 29));
+        assertThat(recurrence.occurrenceIn(YearMonth.of(2026, 4))).isEqualTo(LocalDate.of(2026, 4, 30));
+    }
+
+    @Test
+    void advanceReturnsToTheDayOfMonthAfterAShortMonth() {
+        ExpenseRecurrence recurrence = recurrence(31, null);
+        recurrence.setNextOccurrence(LocalDate.of(2026, 1, 31));
+
+        recurrence.advance();
+        assertThat(recurrence.getNextOccurrence()).isEqualTo(LocalDate.of(2026, 2, 28));
+        recurrence.advance();
+        assertThat(recurrence.getNextOccurrence()).isEqualTo(LocalDate.of(2026, 3, 31));
+    }
+
+    @Test
+    void advanceCrossesTheYear() {
+        ExpenseRecurrence recurrence = recurrence(15, null);
+        recurrence.setNextOccurrence(LocalDate.of(2026, 12, 15));
+
+        recurrence.advance();
+        assertThat(recurrence.getNextOccurrence()).isEqualTo(LocalDate.of(2027, 1, 15));
+    }
+
+    @Test
+    void occurrenceOnTheEndDateIsStillGenerated() {
+        ExpenseRecurrence recurrence = recurrence(10, LocalDate.of(2026, 3, 10));
+        recurrence.setNextOccurrence(LocalDate.of(2026, 2, 10));
+
+        recurrence.advance();
+        assertThat(recurrence.getNextOccurrence()).isEqualTo(LocalDate.of(2026, 3, 10));
+    }
+
+    @Test
+    void advanceStopsOncePastTheEndDate() {
+        ExpenseRecurrence recurrence = recurrence(10, LocalDate.of(2026, 3, 9));
+        recurrence.setNextOccurrence(LocalDate.of(2026, 2, 10));
+
+        recurrence.advance();
+        assertThat(recurrence.getNextOccurrence()).isNull();
+    }
+
+    private static ExpenseRecurrence recurrence(int dayOfMonth, LocalDate endDate) {
+        return ExpenseRecurrence.builder().dayOfMonth(dayOfMonth).endDate(endDate).build();
+    }
+}
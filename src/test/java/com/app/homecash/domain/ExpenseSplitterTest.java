@@ -0,0 +1,75 @@
+package com.app.homecash.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpenseSplitterTest {
+
+    @Test
+    void equalSplitGivesLeftoverCentsToTheFirstParticipants() {
+        assertThat(ExpenseSplitter.split(1_001, SplitMethod.EQUAL, new long[3])).containsExactly(334, 334, 333);
+        assertThat(ExpenseSplitter.split(1_000, SplitMethod.EQUAL, new long[3])).containsExactly(334, 333, 333);
+        assertThat(ExpenseSplitter.split(999, SplitMethod.EQUAL, new long[3])).containsExactly(333, 333, 333);
+    }
+
+    @Test
+    void leftoverCentsGoToTheLargestRemainders() {
+        // 100 cents at 33.33%, 33.33%, 33.34%: floors are 33, 33, 33 and remainders 0.33, 0.33, 0.34
+        assertThat(ExpenseSplitter.split(100, SplitMethod.PERCENTAGE, new long[] {3_333, 3_333, 3_334}))
+            .containsExactly(33, 33, 34);
+        // 10 cents weighted 1:2:4: exact shares 1.43, 2.86, 5.71
+        assertThat(ExpenseSplitter.split(10, SplitMethod.WEIGHTED, new long[] {1, 2, 4}))
+            .containsExactly(1, 3, 6);
+    }
+
+    @Test
+    void fixedSplitKeepsTheGivenAmounts() {
+        long[] cents = {250, 750};
+        long[] amounts = ExpenseSplitter.split(1_000, SplitMethod.FIXED, cents);
+
+        assertThat(amounts).containsExactly(250, 750).isNotSameAs(cents);
+    }
+
+    @Test
+    void amountsAlwaysSumToTheTotal() {
+        Random random = new Random(7);
+        for (int round = 0; round < 10_000; round++) {
+            int n = 1 + random.nextInt(12);
+            long total = n + random.nextInt(1_000_000);
+            long[] weights = new long[n];
+            for (int i = 0; i < n; i++) {
+                weights[i] = 1 + random.nextInt(1_000);
+            }
+            for (SplitMethod method : new SplitMethod[] {SplitMethod.EQUAL, SplitMethod.WEIGHTED}) {
+                long[] amounts = ExpenseSplitter.split(total, method, weights);
+                assertThat(Arrays.stream(amounts).sum()).as("%s split of %d", method, total).isEqualTo(total);
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidValues() {
+        assertThatThrownBy(() -> ExpenseSplitter.split(100, SplitMethod.PERCENTAGE, new long[] {5_000, 4_999}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ExpenseSplitter.split(100, SplitMethod.FIXED, new long[] {50, 49}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ExpenseSplitter.split(100, SplitMethod.WEIGHTED, new long[] {1, 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ExpenseSplitter.split(0, SplitMethod.EQUAL, new long[1]))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ExpenseSplitter.split(100, SplitMethod.EQUAL, new long[0]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsParticipantsWhoWouldOweNothing() {
+        assertThatThrownBy(() -> ExpenseSplitter.split(2, SplitMethod.EQUAL, new long[3]))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("at least 1 cent");
+    }
+}
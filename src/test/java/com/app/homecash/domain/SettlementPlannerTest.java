@@ -0,0 +1,90 @@
+package com.app.homecash.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SettlementPlannerTest {
+
+    @Test
+    void rejectsBalancesThatDoNotSumToZero() {
+        assertThatThrownBy(() -> SettlementPlanner.plan(new long[] {1, 2}, new long[] {500, -499}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("sum to zero");
+    }
+
+    @Test
+    void rejectsMismatchedArrays() {
+        assertThatThrownBy(() -> SettlementPlanner.plan(new long[] {1, 2}, new long[] {0}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void settledHouseNeedsNoTransfers() {
+        assertThat(SettlementPlanner.plan(new long[0], new long[0]).size()).isZero();
+        assertThat(SettlementPlanner.plan(new long[] {1, 2}, new long[] {0, 0}).size()).isZero();
+    }
+
+    @Test
+    void matchesLargestDebtorWithLargestCreditor() {
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(
+            new long[] {10, 20, 30, 40}, new long[] {-700, 1_000, -300, 0});
+
+        assertThat(plan.size()).isEqualTo(2);
+        assertTransfer(plan, 0, 10, 20, 700);
+        assertTransfer(plan, 1, 30, 20, 300);
+    }
+
+    @Test
+    void tiesGoToTheLowerIndex() {
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(
+            new long[] {1, 2, 3, 4}, new long[] {-100, -100, 100, 100});
+
+        assertThat(plan.size()).isEqualTo(2);
+        assertTransfer(plan, 0, 1, 3, 100);
+        assertTransfer(plan, 1, 2, 4, 100);
+    }
+
+    @Test
+    void zeroesEveryBalanceInAtMostNMinusOneTransfers() {
+        Random random = new Random(42);
+        for (int round = 0; round < 1_000; round++) {
+            int n = 1 + random.nextInt(40);
+            long[] userIds = new long[n];
+            long[] balances = new long[n];
+            long sum = 0;
+            for (int i = 0; i < n - 1; i++) {
+                userIds[i] = 100 + i;
+                balances[i] = random.nextInt(200_001) - 100_000;
+                sum += balances[i];
+            }
+            userIds[n - 1] = 100 + n - 1;
+            balances[n - 1] = -sum;
+
+            SettlementPlanner.Plan plan = SettlementPlanner.plan(userIds, balances);
+
+            assertThat(plan.size()).isLessThanOrEqualTo(Math.max(n - 1, 0));
+            long[] remaining = balances.clone();
+            for (int t = 0; t < plan.size(); t++) {
+                assertThat(plan.amountsCents()[t]).isPositive();
+                int from = (int) (plan.fromUserIds()[t] - 100);
+                int to = (int) (plan.toUserIds()[t] - 100);
+                // Debtors only pay and creditors only receive
+                assertThat(balances[from]).isNegative();
+                assertThat(balances[to]).isPositive();
+                remaining[from] += plan.amountsCents()[t];
+                remaining[to] -= plan.amountsCents()[t];
+            }
+            assertThat(remaining).containsOnly(0L);
+        }
+    }
+
+    private static void assertTransfer(SettlementPlanner.Plan plan, int t, long from, long to, long amount) {
+        assertThat(plan.fromUserIds()[t]).isEqualTo(from);
+        assertThat(plan.toUserIds()[t]).isEqualTo(to);
+        assertThat(plan.amountsCents()[t]).isEqualTo(amount);
+    }
+}
@@ -0,0 +1,123 @@
+package com.app.homecash.repository;
+
+import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.ExpenseStatus;
+import com.app.homecash.domain.ExpenseType;
+import com.app.homecash.domain.PaymentMethod;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static com.app.homecash.repository.ExpenseSpecifications.createdBefore;
+import static com.app.homecash.repository.ExpenseSpecifications.dueFrom;
+import static com.app.homecash.repository.ExpenseSpecifications.dueUntil;
+import static com.app.homecash.repository.ExpenseSpecifications.hasCategory;
+import static com.app.homecash.repository.ExpenseSpecifications.hasCreditCard;
+import static com.app.homecash.repository.ExpenseSpecifications.hasPaymentMethod;
+import static com.app.homecash.repository.ExpenseSpecifications.hasStatus;
+import static com.app.homecash.repository.ExpenseSpecifications.hasType;
+import static com.app.homecash.repository.ExpenseSpecifications.inHouse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every filter shape of the house expense listing must be planned on a house_id-led index, never a table scan.
+ * The SQL Hibernate generates for each shape is captured and run through H2's EXPLAIN.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.app.homecash.repository.ExpenseSpecificationsPlanTest$LastStatement")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExpenseSpecificationsPlanTest {
+
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 12, 31, 23, 59);
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> filterShapes() {
+        return Stream.of(
+            Arguments.of("house only", null),
+            Arguments.of("status", hasStatus(ExpenseStatus.OPEN)),
+            Arguments.of("category", hasCategory("Rent")),
+            Arguments.of("payment method", hasPaymentMethod(PaymentMethod.CREDIT)),
+            Arguments.of("type", hasType(ExpenseType.FIXED)),
+            Arguments.of("credit card", hasCreditCard(7L)),
+            Arguments.of("due from", dueFrom(FROM)),
+            Arguments.of("due until", dueUntil(TO)),
+            Arguments.of("due range", dueFrom(FROM).and(dueUntil(TO))),
+            Arguments.of("status and due range", hasStatus(ExpenseStatus.OVERDUE).and(dueFrom(FROM)).and(dueUntil(TO))),
+            Arguments.of("category and payment method", hasCategory("Rent").and(hasPaymentMethod(PaymentMethod.PIX))),
+            Arguments.of("every filter", hasStatus(ExpenseStatus.OPEN)
+                .and(hasCategory("Rent"))
+                .and(hasPaymentMethod(PaymentMethod.CREDIT))
+                .and(hasType(ExpenseType.FIXED))
+                .and(hasCreditCard(7L))
+                .and(dueFrom(FROM))
+                .and(dueUntil(TO))),
+            Arguments.of("next page", createdBefore(FROM, 100L)),
+            Arguments.of("status, next page", hasStatus(ExpenseStatus.PAID).and(createdBefore(FROM, 100L)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterShapes")
+    void usesHouseIndex(String shape, Specification<Expense> filter) {
+        Specification<Expense> spec = Specification.where(inHouse(1L)).and(filter);
+        expenseRepository.findBy(spec, query -> query.sortBy(KEYSET_ORDER).limit(51).all());
+
+        String sql = LastStatement.sql;
+        assertThat(sql).startsWith("select");
+        String plan = explain(sql);
+
+        assertThat(plan).as("plan of %s", shape)
+            .containsPattern("PUBLIC\\.IDX_EXPENSE_HOUSE_\\w+: [^*]*\\bHOUSE_ID = \\?")
+            .doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                // The plan does not depend on the values; H2 keeps them as parameters
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet result = statement.executeQuery()) {
+                    result.next();
+                    return result.getString(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Remembers the last SQL statement Hibernate prepared.
+     */
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+}
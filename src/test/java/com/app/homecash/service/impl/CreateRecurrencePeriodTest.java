@@ -0,0 +1,168 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.CreditCard;
+import com.app.homecash.domain.Expense;
+import com.app.homecash.domain.ExpenseRollup;
+import com.app.homecash.domain.ExpenseType;
+import com.app.homecash.domain.House;
+import com.app.homecash.domain.Invoice;
+import com.app.homecash.domain.InvoiceExpense;
+import com.app.homecash.domain.PaymentMethod;
+import com.app.homecash.dto.request.CreateExpenseRequest;
+import com.app.homecash.dto.request.CreateRecurrenceRequest;
+import com.app.homecash.mapper.ExpenseMapper;
+import com.app.homecash.repository.CreditCardRepository;
+import com.app.homecash.repository.ExpenseRepository;
+import com.app.homecash.repository.ExpenseRollupRepository;
+import com.app.homecash.repository.HouseRepository;
+import com.app.homecash.repository.InvoiceExpenseRepository;
+import com.app.homecash.repository.InvoiceRepository;
+import com.app.homecash.repository.RollupTotals;
+import com.app.homecash.service.ExpenseService;
+import com.app.homecash.service.HouseService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Making an expense recur must not move it to another period: its rollup and invoice stay where it was counted.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({ExpenseServiceImpl.class, ExpenseRollupLedger.class, HouseBalanceLedger.class, InvoiceAssigner.class,
+    ExpenseMapper.class})
+class CreateRecurrencePeriodTest {
+
+    private static final long USER = 9_101L;
+
+    @MockBean
+    private HouseService houseService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private CreditCardRepository creditCardRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseRollupRepository expenseRollupRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private InvoiceExpenseRepository invoiceExpenseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long houseId;
+
+    @BeforeEach
+    void setUp() {
+        houseId = houseRepository.save(House.builder().name("Recurring").inviteCode("REC" + System.nanoTime()).build())
+            .getId();
+    }
+
+    @Test
+    void expenseDueInAnotherMonthKeepsItsRollup() {
+        LocalDateTime dueDate = LocalDateTime.now().plusMonths(1);
+        Long expenseId = expenseService.create(houseId, request(PaymentMethod.PIX, null, dueDate), USER).getId();
+
+        expenseService.createRecurrence(expenseId, new CreateRecurrenceRequest(), USER);
+        entityManager.flush();
+        entityManager.clear();
+
+        Expense expense = expenseRepository.findById(expenseId).orElseThrow();
+        assertThat(expense.getRecurrenceId()).isNotNull();
+        YearMonth period = YearMonth.from(expense.periodDate());
+        assertThat(period).isEqualTo(YearMonth.from(expense.getCreatedAt()));
+
+        // The rollup row and the grouping the reconciler compares it with agree on the month
+        List<ExpenseRollup> rollups = expenseRollupRepository
+            .findByHouseIdAndPeriodYearAndPeriodMonthOrderByCategoryAscStatusAsc(
+                houseId, period.getYear(), period.getMonthValue());
+        assertThat(rollups).singleElement().satisfies(rollup -> assertThat(rollup.getExpenseCount()).isEqualTo(1));
+        List<RollupTotals> expected = expenseRepository.sumRollupsByHouseId(houseId);
+        assertThat(expected).singleElement().satisfies(totals -> {
+            assertThat(totals.getYear()).isEqualTo(period.getYear());
+            assertThat(totals.getMonth()).isEqualTo(period.getMonthValue());
+        });
+    }
+
+    @Test
+    void cardExpenseDueAcrossTheClosingDayKeepsItsInvoice() {
+        // Due in the same month as the purchase, on the other side of the closing day
+        LocalDate today = LocalDate.now();
+        int closingDay;
+        LocalDate due;
+        if (today.getDayOfMonth() < 28) {
+            closingDay = today.getDayOfMonth();
+            due = today.withDayOfMonth(28);
+        } else {
+            closingDay = today.getDayOfMonth() - 1;
+            due = today.withDayOfMonth(1);
+        }
+        CreditCard card = creditCardRepository.save(CreditCard.builder()
+            .userId(USER)
+            .name("Card")
+            .brand("VISA")
+            .lastDigits("1234")
+            .limitCents(1_000_000L)
+            .closingDay(closingDay)
+            .dueDay(10)
+            .build());
+        assertThat(card.invoiceMonthOf(due)).isNotEqualTo(card.invoiceMonthOf(today));
+
+        Long expenseId = expenseService.create(
+            houseId, request(PaymentMethod.CREDIT, card.getId(), due.atTime(12, 0)), USER).getId();
+
+        expenseService.createRecurrence(expenseId, new CreateRecurrenceRequest(), USER);
+        entityManager.flush();
+        entityManager.clear();
+
+        Expense expense = expenseRepository.findById(expenseId).orElseThrow();
+        YearMonth invoiceMonth = card.invoiceMonthOf(expense.periodDate());
+        assertThat(invoiceMonth).isEqualTo(card.invoiceMonthOf(today));
+
+        List<InvoiceExpense> links = invoiceExpenseRepository.findByExpenseId(expenseId);
+        assertThat(links).hasSize(1);
+        Invoice invoice = invoiceRepository.findById(links.get(0).getInvoiceId()).orElseThrow();
+        assertThat(YearMonth.of(invoice.getYear(), invoice.getMonth())).isEqualTo(invoiceMonth);
+        assertThat(invoice.getTotalCents()).isEqualTo(expense.getAmountCents());
+    }
+
+    private static CreateExpenseRequest request(PaymentMethod paymentMethod, Long creditCardId, LocalDateTime dueDate) {
+        return CreateExpenseRequest.builder()
+            .title("Rent")
+            .category("Housing")
+            .amountCents(150_000L)
+            .type(ExpenseType.FIXED)
+            .dueDate(dueDate)
+            .paymentMethod(paymentMethod)
+            .creditCardId(creditCardId)
+            .build();
+    }
+}
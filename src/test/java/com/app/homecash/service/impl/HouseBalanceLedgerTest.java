@@ -0,0 +1,248 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.CreditCard;
+import com.app.homecash.domain.ExpenseType;
+import com.app.homecash.domain.House;
+import com.app.homecash.domain.HouseBalance;
+import com.app.homecash.domain.HouseMember;
+import com.app.homecash.domain.InvoiceExpense;
+import com.app.homecash.domain.PaymentMethod;
+import com.app.homecash.domain.Role;
+import com.app.homecash.domain.SplitMethod;
+import com.app.homecash.dto.request.CreateExpenseRequest;
+import com.app.homecash.dto.request.SplitExpenseRequest;
+import com.app.homecash.dto.request.SplitShareRequest;
+import com.app.homecash.dto.response.HouseBalanceResponse;
+import com.app.homecash.mapper.ExpenseMapper;
+import com.app.homecash.mapper.InvoiceMapper;
+import com.app.homecash.repository.CreditCardRepository;
+import com.app.homecash.repository.HouseBalanceRepository;
+import com.app.homecash.repository.HouseMemberRepository;
+import com.app.homecash.repository.HouseRepository;
+import com.app.homecash.repository.InvoiceExpenseRepository;
+import com.app.homecash.service.BalanceService;
+import com.app.homecash.service.CreditCardService;
+import com.app.homecash.service.ExpenseService;
+import com.app.homecash.service.HouseService;
+import com.app.homecash.service.InvoiceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every expense write must leave the balance ledger equal to what the OWES participants add up to.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({ExpenseServiceImpl.class, InvoiceServiceImpl.class, BalanceServiceImpl.class, HouseBalanceLedger.class,
+    ExpenseRollupLedger.class, InvoiceAssigner.class, ExpenseMapper.class, InvoiceMapper.class,
+    HouseBalanceLedgerTest.Metrics.class})
+class HouseBalanceLedgerTest {
+
+    private static final long ANA = 9_201L;
+    private static final long BIA = 9_202L;
+    private static final long CAU = 9_203L;
+
+    @MockBean
+    private HouseService houseService;
+
+    @MockBean
+    private CreditCardService creditCardService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private HouseMemberRepository houseMemberRepository;
+
+    @Autowired
+    private HouseBalanceRepository houseBalanceRepository;
+
+    @Autowired
+    private CreditCardRepository creditCardRepository;
+
+    @Autowired
+    private InvoiceExpenseRepository invoiceExpenseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long houseId;
+
+    @BeforeEach
+    void setUp() {
+        houseId = houseRepository.save(House.builder().name("Ledger").inviteCode("LED" + System.nanoTime()).build())
+            .getId();
+        for (long userId : new long[] {ANA, BIA, CAU}) {
+            houseMemberRepository.save(HouseMember.builder().houseId(houseId).userId(userId).role(Role.MEMBER).build());
+        }
+    }
+
+    @Test
+    void splitRecordsAndReplacesDebts() {
+        Long expenseId = create(ANA, 1_000, PaymentMethod.PIX, null);
+
+        split(expenseId, SplitMethod.EQUAL, new long[] {ANA, BIA, CAU}, null);
+        assertLedger(Map.of(ANA, 666L, BIA, -333L, CAU, -333L));
+
+        // A new split releases the previous one before recording its own debts
+        split(expenseId, SplitMethod.FIXED, new long[] {BIA, CAU}, new long[] {700, 300});
+        assertLedger(Map.of(ANA, 1_000L, BIA, -700L, CAU, -300L));
+    }
+
+    @Test
+    void payingAnExpenseSettlesItsDebts() {
+        Long rent = create(ANA, 900, PaymentMethod.PIX, null);
+        split(rent, SplitMethod.EQUAL, new long[] {ANA, BIA, CAU}, null);
+        Long groceries = create(BIA, 400, PaymentMethod.PIX, null);
+        split(groceries, SplitMethod.EQUAL, new long[] {ANA, BIA}, null);
+        assertLedger(Map.of(ANA, 400L, BIA, -100L, CAU, -300L));
+
+        expenseService.markAsPaid(rent, ANA);
+        assertLedger(Map.of(ANA, -200L, BIA, 200L));
+    }
+
+    @Test
+    void payingAnInvoiceSettlesTheDebtsOfItsExpenses() {
+        CreditCard card = creditCardRepository.save(CreditCard.builder()
+            .userId(ANA)
+            .name("Card")
+            .brand("VISA")
+            .lastDigits("4321")
+            .limitCents(1_000_000L)
+            .closingDay(31)
+            .dueDay(10)
+            .build());
+        Long onCard = create(ANA, 600, PaymentMethod.CREDIT, card.getId());
+        split(onCard, SplitMethod.PERCENTAGE, new long[] {BIA, CAU}, new long[] {5_000, 5_000});
+        Long inCash = create(CAU, 100, PaymentMethod.PIX, null);
+        split(inCash, SplitMethod.EQUAL, new long[] {ANA}, null);
+        assertLedger(Map.of(ANA, 500L, BIA, -300L, CAU, -200L));
+
+        List<InvoiceExpense> links = invoiceExpenseRepository.findByExpenseId(onCard);
+        assertThat(links).hasSize(1);
+        invoiceService.markAsPaid(links.get(0).getInvoiceId(), ANA);
+        assertLedger(Map.of(ANA, -100L, CAU, 100L));
+    }
+
+    @Test
+    void deletingExpensesReleasesTheirDebts() {
+        Long dinner = create(ANA, 300, PaymentMethod.PIX, null);
+        split(dinner, SplitMethod.EQUAL, new long[] {ANA, BIA, CAU}, null);
+        Long taxi = create(BIA, 200, PaymentMethod.PIX, null);
+        split(taxi, SplitMethod.EQUAL, new long[] {BIA, CAU}, null);
+        Long movie = create(CAU, 500, PaymentMethod.PIX, null);
+        split(movie, SplitMethod.WEIGHTED, new long[] {ANA, BIA}, new long[] {3, 2});
+
+        expenseService.delete(dinner, ANA);
+        assertLedger(Map.of(ANA, -300L, BIA, -100L, CAU, 400L));
+
+        expenseService.bulkDelete(houseId, List.of(taxi, movie), BIA);
+        assertLedger(Map.of());
+    }
+
+    @Test
+    void rebuildRestoresTheLedgerFromParticipants() {
+        Long expenseId = create(ANA, 1_000, PaymentMethod.PIX, null);
+        split(expenseId, SplitMethod.EQUAL, new long[] {ANA, BIA}, null);
+        houseBalanceRepository.addToBalance(houseId, BIA, 123);
+        houseBalanceRepository.addToBalance(houseId, CAU, -45);
+        assertThat(balances()).isNotEqualTo(Map.of(ANA, 500L, BIA, -500L));
+
+        List<HouseBalanceResponse> rebuilt = balanceService.rebuild(houseId, ANA);
+
+        assertLedger(Map.of(ANA, 500L, BIA, -500L));
+        assertThat(rebuilt.stream()
+                .filter(balance -> balance.getBalanceCents() != 0)
+                .collect(Collectors.toMap(HouseBalanceResponse::getUserId, HouseBalanceResponse::getBalanceCents)))
+            .isEqualTo(Map.of(ANA, 500L, BIA, -500L));
+    }
+
+    private Long create(long userId, long amountCents, PaymentMethod paymentMethod, Long creditCardId) {
+        return expenseService.create(houseId, CreateExpenseRequest.builder()
+            .title("Expense")
+            .category("House")
+            .amountCents(amountCents)
+            .type(ExpenseType.FLEXIBLE)
+            .paymentMethod(paymentMethod)
+            .creditCardId(creditCardId)
+            .build(), userId).getId();
+    }
+
+    private void split(Long expenseId, SplitMethod method, long[] userIds, long[] values) {
+        SplitExpenseRequest request = new SplitExpenseRequest();
+        request.setMethod(method);
+        request.setShares(Arrays.stream(userIds)
+            .mapToObj(userId -> {
+                SplitShareRequest share = new SplitShareRequest();
+                share.setUserId(userId);
+                return share;
+            })
+            .collect(Collectors.toList()));
+        if (values != null) {
+            for (int i = 0; i < values.length; i++) {
+                request.getShares().get(i).setValue(values[i]);
+            }
+        }
+        expenseService.split(expenseId, request, ANA);
+    }
+
+    /**
+     * The ledger holds the expected balances, and so does a full recomputation.
+     */
+    private void assertLedger(Map<Long, Long> expected) {
+        assertThat(balances()).isEqualTo(expected);
+        assertThat(balanceService.checkConsistency()).isZero();
+    }
+
+    /**
+     * Balances as stored; the persistence context is cleared before and after, as between two requests.
+     */
+    private Map<Long, Long> balances() {
+        entityManager.flush();
+        entityManager.clear();
+        Map<Long, Long> balances = houseBalanceRepository.findByHouseIdOrderByUserId(houseId).stream()
+            .filter(balance -> balance.getBalanceCents() != 0)
+            .collect(Collectors.toMap(HouseBalance::getUserId, HouseBalance::getBalanceCents));
+        entityManager.clear();
+        return balances;
+    }
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.repository.IdSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InviteCodeGeneratorTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final String LEGACY_ALPHABET = "0123456789ABCDEF";
+    private static final int LEGACY_LENGTH = 8;
+    private static final int CODES = 2_000_000;
+    private static final int BLOCK_SIZE = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private IdSequenceRepository idSequenceRepository;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        idSequenceRepository = mock(IdSequenceRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(idSequenceRepository.advance(anyString(), anyLong()))
+            .thenAnswer(invocation -> {
+                sequence.addAndGet(invocation.getArgument(1, Long.class));
+                return 1;
+            });
+        when(idSequenceRepository.findNextValueByName(anyString()))
+            .thenAnswer(invocation -> Optional.of(sequence.get()));
+    }
+
+    @Test
+    void generatesMillionsOfCodesWithoutCollisions() {
+        InviteCodeGenerator generator = generator("test-secret");
+
+        long[] values = new long[CODES];
+        for (int i = 0; i < CODES; i++) {
+            values[i] = decode(generator.nextCode());
+        }
+
+        Arrays.sort(values);
+        for (int i = 1; i < CODES; i++) {
+            assertThat(values[i]).as("code %d repeats", i).isNotEqualTo(values[i - 1]);
+        }
+    }
+
+    @Test
+    void codesCannotBeConfusedWithLegacyHexCodes() {
+        InviteCodeGenerator generator = generator("test-secret");
+
+        Set<Character> used = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            String code = generator.nextCode();
+            // Legacy codes all have this length, so no new code can equal one
+            assertThat(code.length()).isNotEqualTo(LEGACY_LENGTH);
+            // Joining upper-cases the code; it must come back unchanged
+            assertThat(code.toUpperCase(Locale.ROOT)).isEqualTo(code);
+            for (char c : code.toCharArray()) {
+                used.add(c);
+            }
+        }
+
+        // The whole base-32 alphabet is in use, not just its hexadecimal part
+        assertThat(used).hasSize(ALPHABET.length());
+        assertThat(used.stream().filter(c -> LEGACY_ALPHABET.indexOf(c) < 0)).isNotEmpty();
+    }
+
+    @Test
+    void rejectsMissingSecret() {
+        assertThatThrownBy(() -> generator(" "))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void developmentSecretIsAcceptedWithoutProfilesOrUnderDev() {
+        generator(InviteCodeGenerator.DEVELOPMENT_SECRET).nextCode();
+
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev", "local");
+        generator(dev, InviteCodeGenerator.DEVELOPMENT_SECRET).nextCode();
+    }
+
+    @Test
+    void developmentSecretIsRejectedUnderOtherProfiles() {
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("prod");
+
+        assertThatThrownBy(() -> generator(production, InviteCodeGenerator.DEVELOPMENT_SECRET))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("house.invite-code.secret");
+        generator(production, "production-secret").nextCode();
+    }
+
+    private InviteCodeGenerator generator(String secret) {
+        return generator(new MockEnvironment(), secret);
+    }
+
+    private InviteCodeGenerator generator(MockEnvironment environment, String secret) {
+        return new InviteCodeGenerator(idSequenceRepository, transactionManager, environment, secret, BLOCK_SIZE);
+    }
+
+    private static long decode(String code) {
+        assertThat(code).hasSize(10);
+        long value = 0;
+        for (char c : code.toCharArray()) {
+            int digit = ALPHABET.indexOf(c);
+            assertThat(digit).as("character %s of %s", c, code).isNotNegative();
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,93 @@
+package com.app.homecash.service.impl;
+
+import com.app.homecash.domain.HouseMember;
+import com.app.homecash.domain.Role;
+import com.app.homecash.dto.request.CreateCreditCardRequest;
+import com.app.homecash.mapper.CreditCardMapper;
+import com.app.homecash.mapper.UserMapper;
+import com.app.homecash.repository.HouseMemberRepository;
+import com.app.homecash.service.CreditCardService;
+import com.app.homecash.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Owner checks must be answered by a single statement, however many houses the user belongs to.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserServiceImpl.class, CreditCardServiceImpl.class, UserMapper.class, CreditCardMapper.class})
+class OwnerCheckStatementCountTest {
+
+    private static final long SOLE_OWNER = 9_001L;
+    private static final long CO_OWNER = 9_002L;
+    private static final long MEMBER = 9_003L;
+    private static final int HOUSES = 20;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CreditCardService creditCardService;
+
+    @Autowired
+    private HouseMemberRepository houseMemberRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (long houseId = 9_000L; houseId < 9_000L + HOUSES; houseId++) {
+            houseMemberRepository.save(member(SOLE_OWNER, houseId, Role.OWNER));
+            houseMemberRepository.save(member(MEMBER, houseId, Role.MEMBER));
+            if (houseId % 2 == 0) {
+                houseMemberRepository.save(member(CO_OWNER, houseId, Role.OWNER));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void canUserBeRemovedRunsOneStatement() {
+        assertThat(userService.canUserBeRemoved(SOLE_OWNER)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(userService.canUserBeRemoved(MEMBER)).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void isUserOwnerRunsOneStatement() {
+        // A member is turned away by the owner check before anything else is read
+        assertThatThrownBy(() -> creditCardService.create(new CreateCreditCardRequest(), MEMBER))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("owners");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(houseMemberRepository.existsByUserIdAndRole(CO_OWNER, Role.OWNER)).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static HouseMember member(long userId, long houseId, Role role) {
+        return HouseMember.builder().userId(userId).houseId(houseId).role(role).build();
+    }
+}